@@ -1,7 +1,12 @@
 package com.testlead.automation.base;
 
 import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.utils.EndpointLatencyFilter;
+import com.testlead.automation.utils.ExchangeJournal;
+import com.testlead.automation.utils.ExchangeJournalFilter;
+import com.testlead.automation.utils.ReportShardSink;
 import com.testlead.automation.utils.RequestResponseLogger;
+import com.testlead.automation.utils.TestTimings;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
@@ -11,15 +16,40 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Base API client with common functionality
+ *
+ * A client talks to the environment of its {@link ClientContext}: the default one unless it is
+ * created with a context from {@link ClientContext#forEnvironment(String)}.
  */
 public abstract class BaseApiClient {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseApiClient.class);
+    protected final ClientContext context;
     protected String authToken;
     
     static {
-        // Set base URI from configuration
+        // Set base URI from configuration, and keep it in step with configuration reloads
         RestAssured.baseURI = ConfigManager.baseUrl();
+        ConfigManager.addListener((previous, current) -> {
+            if (!current.getBaseUrl().equals(previous.getBaseUrl())) {
+                RestAssured.baseURI = current.getBaseUrl();
+                logger.info("Base URI changed to {}", current.getBaseUrl());
+            }
+        });
+    }
+    
+    protected BaseApiClient() {
+        this(ClientContext.defaultContext());
+    }
+    
+    protected BaseApiClient(ClientContext context) {
+        this.context = context;
+    }
+    
+    /**
+     * Environment this client talks to
+     */
+    public ClientContext getContext() {
+        return context;
     }
     
     /**
@@ -28,8 +58,8 @@ public abstract class BaseApiClient {
     protected RequestSpecification getRequestSpec() {
         RequestSpecBuilder builder = new RequestSpecBuilder();
         
-        // Set base URI
-        builder.setBaseUri(ConfigManager.baseUrl());
+        // Set base URI of this client's environment
+        builder.setBaseUri(context.getBaseUrl());
         
         // Set content type
         builder.setContentType(ContentType.JSON);
@@ -51,6 +81,19 @@ public abstract class BaseApiClient {
             spec.filter(new RequestResponseLogger());
         }
         
+        // Binary timing journal for load and soak runs
+        if (ExchangeJournal.isEnabled()) {
+            spec.filter(new ExchangeJournalFilter());
+        }
+
+        // Per-endpoint latency histograms for the report shard, request time for timing breakdowns;
+        // clients of another environment always record their own for comparisons
+        if (!context.isDefault()) {
+            spec.filter(new EndpointLatencyFilter(context.latencyTarget()));
+        } else if (ReportShardSink.isEnabled() || TestTimings.isEnabled()) {
+            spec.filter(new EndpointLatencyFilter());
+        }
+        
         return spec;
     }
     
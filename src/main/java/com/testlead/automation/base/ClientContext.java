@@ -0,0 +1,83 @@
+package com.testlead.automation.base;
+
+import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.config.ConfigSnapshot;
+import com.testlead.automation.utils.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Environment an API client talks to.
+ *
+ * The default context follows the environment selected with -Denv (and its reloads). Contexts
+ * created with {@link #forEnvironment(String)} bind clients to any other environment, so the same
+ * JVM can drive qa and dev side by side; each keeps its own per-endpoint latency histograms.
+ */
+public final class ClientContext {
+
+    private static final ClientContext DEFAULT = new ClientContext(null);
+
+    private final String environment;
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    private ClientContext(String environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Context of the environment selected with -Denv
+     */
+    public static ClientContext defaultContext() {
+        return DEFAULT;
+    }
+
+    /**
+     * New context bound to an environment (config/&lt;environment&gt;.properties), with empty latencies
+     */
+    public static ClientContext forEnvironment(String environment) {
+        ConfigManager.forEnvironment(environment);
+        return new ClientContext(environment.toLowerCase());
+    }
+
+    public boolean isDefault() {
+        return environment == null;
+    }
+
+    public String getEnvironment() {
+        return isDefault() ? ConfigManager.getEnvironment() : environment;
+    }
+
+    /**
+     * Configuration of this context's environment (looked up on every call, so reloads apply)
+     */
+    public ConfigSnapshot getConfig() {
+        return isDefault() ? ConfigManager.current() : ConfigManager.forEnvironment(environment);
+    }
+
+    public String getBaseUrl() {
+        return getConfig().getBaseUrl();
+    }
+
+    /**
+     * Histograms recorded by clients bound to this context (the default context records into
+     * {@link com.testlead.automation.utils.EndpointLatencyFilter}'s shared ones)
+     */
+    ConcurrentMap<String, LatencyHistogram> latencyTarget() {
+        return latencies;
+    }
+
+    /**
+     * Latency per endpoint recorded so far, sorted by endpoint
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    @Override
+    public String toString() {
+        return "ClientContext[" + getEnvironment() + "]";
+    }
+}
@@ -1,9 +1,16 @@
 package com.testlead.automation.clients;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.testlead.automation.base.BaseApiClient;
+import com.testlead.automation.base.ClientContext;
 import com.testlead.automation.models.Product;
+import com.testlead.automation.testdata.TestDataStreams;
+import com.testlead.automation.utils.PooledBodySerializer;
 import io.restassured.response.Response;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 
@@ -12,16 +19,46 @@ import static io.restassured.RestAssured.given;
  */
 public class ProductApiClient extends BaseApiClient {
     
+    /**
+     * Client for the environment selected with -Denv
+     */
+    public ProductApiClient() {
+        super();
+    }
+    
+    /**
+     * Client bound to another environment, e.g. ClientContext.forEnvironment("dev")
+     */
+    public ProductApiClient(ClientContext context) {
+        super(context);
+    }
+    
     /**
      * Create a new product
      */
     public Response createProduct(Product product) {
         logger.info("Creating product with name: {}", product.getName());
         
-        return given(getRequestSpec())
-            .body(product)
-            .when()
-            .post("/products");
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(product)) {
+            return given(getRequestSpec())
+                .body(body.asInputStream())
+                .when()
+                .post("/products");
+        }
+    }
+    
+    /**
+     * Create a product from a raw JSON payload, e.g. one of ProductTestData.getInvalidProductPayloads()
+     */
+    public Response createProduct(JsonNode payload) {
+        logger.info("Creating product from raw payload");
+        
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(payload)) {
+            return given(getRequestSpec())
+                .body(body.asInputStream())
+                .when()
+                .post("/products");
+        }
     }
     
     /**
@@ -42,11 +79,13 @@ public class ProductApiClient extends BaseApiClient {
     public Response updateProduct(Long productId, Product product) {
         logger.info("Updating product with ID: {}", productId);
         
-        return given(getRequestSpec())
-            .pathParam("id", productId)
-            .body(product)
-            .when()
-            .put("/products/{id}");
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(product)) {
+            return given(getRequestSpec())
+                .pathParam("id", productId)
+                .body(body.asInputStream())
+                .when()
+                .put("/products/{id}");
+        }
     }
     
     /**
@@ -91,10 +130,32 @@ public class ProductApiClient extends BaseApiClient {
     public Response bulkCreateProducts(List<Product> products) {
         logger.info("Bulk creating {} products", products.size());
         
-        return given(getRequestSpec())
-            .body(products)
-            .when()
-            .post("/products/bulk");
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(products)) {
+            return given(getRequestSpec())
+                .body(body.asInputStream())
+                .when()
+                .post("/products/bulk");
+        }
+    }
+    
+    /**
+     * Bulk create products from a stream, batchSize products per request, without holding more
+     * than one batch in memory; every response goes to onResponse
+     *
+     * @return number of products sent
+     */
+    public long bulkCreateProducts(Stream<Product> products, int batchSize, Consumer<Response> onResponse) {
+        long sent = 0;
+        try (Stream<List<Product>> batches = TestDataStreams.batches(products, batchSize)) {
+            Iterator<List<Product>> iterator = batches.iterator();
+            while (iterator.hasNext()) {
+                List<Product> batch = iterator.next();
+                onResponse.accept(bulkCreateProducts(batch));
+                sent += batch.size();
+            }
+        }
+        logger.info("Bulk created {} streamed products in batches of {}", sent, batchSize);
+        return sent;
     }
     
     /**
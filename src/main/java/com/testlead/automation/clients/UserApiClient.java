@@ -1,7 +1,10 @@
 package com.testlead.automation.clients;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.testlead.automation.base.BaseApiClient;
+import com.testlead.automation.base.ClientContext;
 import com.testlead.automation.models.User;
+import com.testlead.automation.utils.PooledBodySerializer;
 import io.restassured.response.Response;
 import java.util.Map;
 
@@ -12,16 +15,46 @@ import static io.restassured.RestAssured.given;
  */
 public class UserApiClient extends BaseApiClient {
     
+    /**
+     * Client for the environment selected with -Denv
+     */
+    public UserApiClient() {
+        super();
+    }
+    
+    /**
+     * Client bound to another environment, e.g. ClientContext.forEnvironment("dev")
+     */
+    public UserApiClient(ClientContext context) {
+        super(context);
+    }
+    
     /**
      * Create a new user
      */
     public Response createUser(User user) {
         logger.info("Creating user with email: {}", user.getEmail());
         
-        return given(getRequestSpec())
-            .body(user)
-            .when()
-            .post("/users");
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(user)) {
+            return given(getRequestSpec())
+                .body(body.asInputStream())
+                .when()
+                .post("/users");
+        }
+    }
+    
+    /**
+     * Create a user from a raw JSON payload, e.g. one of UserTestData.getInvalidUserPayloads()
+     */
+    public Response createUser(JsonNode payload) {
+        logger.info("Creating user from raw payload");
+        
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(payload)) {
+            return given(getRequestSpec())
+                .body(body.asInputStream())
+                .when()
+                .post("/users");
+        }
     }
     
     /**
@@ -42,11 +75,13 @@ public class UserApiClient extends BaseApiClient {
     public Response updateUser(Long userId, User user) {
         logger.info("Updating user with ID: {}", userId);
         
-        return given(getRequestSpec())
-            .pathParam("id", userId)
-            .body(user)
-            .when()
-            .put("/users/{id}");
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(user)) {
+            return given(getRequestSpec())
+                .pathParam("id", userId)
+                .body(body.asInputStream())
+                .when()
+                .put("/users/{id}");
+        }
     }
     
     /**
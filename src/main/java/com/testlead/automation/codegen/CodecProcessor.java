@@ -0,0 +1,465 @@
+package com.testlead.automation.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor that generates direct Jackson codecs for {@link GeneratedCodec} models.
+ * Each generated class writes fields straight to the JsonGenerator and reads them with a single
+ * switch over field names, avoiding Jackson's reflective bean introspection and accessors.
+ * The codecs are listed in META-INF/services so {@link ModelCodecs} can pick them up.
+ */
+@SupportedAnnotationTypes("com.testlead.automation.codegen.GeneratedCodec")
+public class CodecProcessor extends AbstractProcessor {
+    
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_INCLUDE = "com.fasterxml.jackson.annotation.JsonInclude";
+    private static final String JSON_IGNORE_PROPERTIES = "com.fasterxml.jackson.annotation.JsonIgnoreProperties";
+    
+    private final List<String> generatedCodecs = new ArrayList<>();
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GeneratedCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GeneratedCodec can only be applied to classes");
+                continue;
+            }
+            TypeElement model = (TypeElement) element;
+            try {
+                generatedCodecs.add(generate(model));
+            } catch (IOException e) {
+                error(model, "Failed to generate codec: " + e.getMessage());
+            }
+        }
+        if (roundEnv.processingOver() && !generatedCodecs.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+    
+    // =============== MODEL INTROSPECTION ===============
+    
+    private enum Kind {
+        STRING, LONG, INTEGER, DOUBLE, BOOLEAN, BIG_DECIMAL, LOCAL_DATE_TIME, STRING_ARRAY, CODEC, TYPE_VARIABLE, OTHER
+    }
+    
+    private static final class Property {
+        String jsonName;
+        String getter;
+        String setter;
+        String type;
+        Kind kind;
+        boolean primitive;
+        String codecClass;
+        int typeVariableIndex;
+    }
+    
+    private List<Property> properties(TypeElement model) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(model.getEnclosedElements());
+        List<TypeParameterElement> typeParameters = new ArrayList<>(model.getTypeParameters());
+        List<Property> properties = new ArrayList<>();
+        
+        for (VariableElement field : ElementFilter.fieldsIn(model.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)
+                    || annotation(field, JSON_IGNORE) != null) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            TypeMirror type = field.asType();
+            
+            Property property = new Property();
+            String jsonName = annotationValue(field, JSON_PROPERTY, "value");
+            property.jsonName = jsonName != null && !jsonName.isEmpty() ? jsonName : name;
+            property.getter = findMethod(methods, 0, "get" + capitalized, "is" + capitalized);
+            property.setter = findMethod(methods, 1, "set" + capitalized);
+            property.type = type.toString();
+            property.primitive = type.getKind().isPrimitive();
+            
+            if (property.getter == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "No getter for '" + name + "', field is not serialized by the generated codec", field);
+                continue;
+            }
+            
+            if (type.getKind() == TypeKind.TYPEVAR) {
+                property.kind = Kind.TYPE_VARIABLE;
+                property.typeVariableIndex = indexOf(typeParameters, type.toString());
+            } else {
+                property.kind = kindOf(type);
+                if (property.kind == Kind.CODEC) {
+                    property.codecClass = codecName((TypeElement) ((DeclaredType) type).asElement());
+                }
+            }
+            properties.add(property);
+        }
+        return properties;
+    }
+    
+    private Kind kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case LONG: return Kind.LONG;
+            case INT: return Kind.INTEGER;
+            case DOUBLE: return Kind.DOUBLE;
+            case BOOLEAN: return Kind.BOOLEAN;
+            case ARRAY:
+                return "java.lang.String".equals(((ArrayType) type).getComponentType().toString()) ? Kind.STRING_ARRAY : Kind.OTHER;
+            case DECLARED:
+                break;
+            default:
+                return Kind.OTHER;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getAnnotation(GeneratedCodec.class) != null) {
+            return Kind.CODEC;
+        }
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.String": return Kind.STRING;
+            case "java.lang.Long": return Kind.LONG;
+            case "java.lang.Integer": return Kind.INTEGER;
+            case "java.lang.Double": return Kind.DOUBLE;
+            case "java.lang.Boolean": return Kind.BOOLEAN;
+            case "java.math.BigDecimal": return Kind.BIG_DECIMAL;
+            case "java.time.LocalDateTime": return Kind.LOCAL_DATE_TIME;
+            default: return Kind.OTHER;
+        }
+    }
+    
+    private static int indexOf(List<TypeParameterElement> typeParameters, String name) {
+        for (int i = 0; i < typeParameters.size(); i++) {
+            if (typeParameters.get(i).getSimpleName().contentEquals(name)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    private static String findMethod(List<ExecutableElement> methods, int parameterCount, String... names) {
+        for (String name : names) {
+            for (ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameterCount
+                        && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+    
+    private static String annotationValue(Element element, String annotationType, String attribute) {
+        AnnotationMirror mirror = annotation(element, annotationType);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Codec class name: User -> UserCodec, Product.Dimensions -> Product_DimensionsCodec
+     */
+    private String codecName(TypeElement model) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+        String qualified = model.getQualifiedName().toString();
+        String relative = packageName.isEmpty() ? qualified : qualified.substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + relative.replace('.', '_') + "Codec";
+    }
+    
+    // =============== CODE GENERATION ===============
+    
+    private String generate(TypeElement model) throws IOException {
+        String codecName = codecName(model);
+        String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+        String simpleName = codecName.substring(codecName.lastIndexOf('.') + 1);
+        String modelType = model.getQualifiedName().toString();
+        int typeParameterCount = model.getTypeParameters().size();
+        boolean generic = typeParameterCount > 0;
+        boolean skipNulls = "NON_NULL".equals(simpleEnumName(annotationValue(model, JSON_INCLUDE, "value")));
+        boolean ignoreUnknown = "true".equals(annotationValue(model, JSON_IGNORE_PROPERTIES, "ignoreUnknown"));
+        
+        if (!hasPublicNoArgConstructor(model)) {
+            error(model, "@GeneratedCodec models need a public no-arg constructor");
+        }
+        
+        List<Property> properties = properties(model);
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import com.fasterxml.jackson.core.JsonGenerator;\n")
+            .append("import com.fasterxml.jackson.core.JsonParser;\n")
+            .append("import com.fasterxml.jackson.core.JsonToken;\n")
+            .append("import com.fasterxml.jackson.core.io.SerializedString;\n")
+            .append("import com.fasterxml.jackson.core.type.TypeReference;\n")
+            .append("import com.fasterxml.jackson.databind.*;\n")
+            .append("import com.fasterxml.jackson.databind.deser.ContextualDeserializer;\n")
+            .append("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;\n")
+            .append("import com.fasterxml.jackson.databind.ser.std.StdSerializer;\n")
+            .append("import com.fasterxml.jackson.databind.type.TypeFactory;\n")
+            .append("import com.testlead.automation.codegen.CodecSupport;\n")
+            .append("import com.testlead.automation.codegen.ModelCodec;\n\n")
+            .append("import java.io.IOException;\n\n")
+            .append("/**\n * Generated by CodecProcessor for ").append(modelType).append(" - do not edit\n */\n")
+            .append("@javax.annotation.processing.Generated(\"").append(CodecProcessor.class.getName()).append("\")\n")
+            .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+            .append("public final class ").append(simpleName).append(" implements ModelCodec<").append(modelType).append("> {\n\n");
+        
+        // Field names are encoded once, as Jackson's bean serializers do
+        for (int i = 0; i < properties.size(); i++) {
+            src.append("    private static final SerializedString NAME_").append(i)
+                .append(" = new SerializedString(").append(quote(properties.get(i).jsonName)).append(");\n");
+        }
+        
+        // Jackson types for fields the generator hands back to Jackson, resolved once
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.kind == Kind.OTHER) {
+                src.append("    private static final JavaType TYPE_").append(i)
+                    .append(" = TypeFactory.defaultInstance().constructType(new TypeReference<")
+                    .append(boxed(property)).append(">() {});\n");
+            }
+        }
+        src.append("\n");
+        
+        // write
+        src.append("    public static void write(").append(modelType).append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n")
+            .append("        gen.writeStartObject(value);\n");
+        for (int i = 0; i < properties.size(); i++) {
+            appendWrite(src, properties.get(i), i, skipNulls);
+        }
+        src.append("        gen.writeEndObject();\n    }\n\n");
+        
+        // read - like Jackson, JSON null reads as null and any token other than an object is an error
+        src.append("    public static ").append(modelType).append(" read(JsonParser p, DeserializationContext ctxt, JavaType[] typeArguments) throws IOException {\n")
+            .append("        JsonToken token = p.currentToken();\n")
+            .append("        if (token == JsonToken.VALUE_NULL) {\n            return null;\n        }\n")
+            .append("        if (token != JsonToken.START_OBJECT && token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {\n")
+            .append("            return (").append(modelType).append(") ctxt.handleUnexpectedToken(").append(modelType).append(".class, p);\n")
+            .append("        }\n")
+            .append("        ").append(modelType).append(" value = new ").append(modelType).append("();\n")
+            .append("        String field = token == JsonToken.START_OBJECT ? p.nextFieldName()\n")
+            .append("            : token == JsonToken.FIELD_NAME ? p.currentName() : null;\n")
+            .append("        for (; field != null; field = p.nextFieldName()) {\n")
+            .append("            p.nextToken();\n")
+            .append("            switch (field) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            appendRead(src, properties.get(i), i);
+        }
+        src.append("                default:\n");
+        if (ignoreUnknown) {
+            src.append("                    p.skipChildren();\n");
+        } else {
+            src.append("                    ctxt.handleUnknownProperty(p, null, ").append(modelType).append(".class, field);\n");
+        }
+        src.append("            }\n        }\n        return value;\n    }\n\n");
+        
+        // ModelCodec
+        src.append("    @Override\n    public Class<").append(modelType).append("> type() {\n        return ")
+            .append(modelType).append(".class;\n    }\n\n")
+            .append("    @Override\n    public JsonSerializer<").append(modelType).append("> serializer() {\n        return new Serializer();\n    }\n\n")
+            .append("    @Override\n    public JsonDeserializer<").append(modelType).append("> deserializer() {\n        return new Deserializer(null);\n    }\n\n");
+        
+        src.append("    static final class Serializer extends StdSerializer<").append(modelType).append("> {\n")
+            .append("        Serializer() {\n            super(").append(modelType).append(".class);\n        }\n\n")
+            .append("        @Override\n        public void serialize(").append(modelType)
+            .append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n")
+            .append("            write(value, gen, provider);\n        }\n    }\n\n");
+        
+        src.append("    static final class Deserializer extends StdDeserializer<").append(modelType).append(">")
+            .append(generic ? " implements ContextualDeserializer" : "").append(" {\n")
+            .append("        private final JavaType[] typeArguments;\n\n")
+            .append("        Deserializer(JavaType[] typeArguments) {\n            super(").append(modelType).append(".class);\n")
+            .append("            this.typeArguments = typeArguments;\n        }\n\n")
+            .append("        @Override\n        public ").append(modelType)
+            .append(" deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n")
+            .append("            return read(p, ctxt, typeArguments);\n        }\n");
+        if (generic) {
+            src.append("\n        @Override\n        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {\n")
+                .append("            JavaType type = ctxt.getContextualType();\n")
+                .append("            if (type == null && property != null) {\n                type = property.getType();\n            }\n")
+                .append("            JavaType[] resolved = new JavaType[").append(typeParameterCount).append("];\n")
+                .append("            for (int i = 0; i < resolved.length; i++) {\n")
+                .append("                resolved[i] = type != null ? type.containedTypeOrUnknown(i) : TypeFactory.unknownType();\n")
+                .append("            }\n            return new Deserializer(resolved);\n        }\n");
+        }
+        src.append("    }\n}\n");
+        
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(codecName, model);
+        try (Writer writer = file.openWriter()) {
+            writer.write(src.toString());
+        }
+        return codecName;
+    }
+    
+    private void appendWrite(StringBuilder src, Property property, int index, boolean skipNulls) {
+        String name = "NAME_" + index;
+        String value = "value." + property.getter + "()";
+        if (property.primitive) {
+            src.append("        gen.writeFieldName(").append(name).append(");\n")
+                .append("        gen.").append(property.kind == Kind.BOOLEAN ? "writeBoolean(" : "writeNumber(").append(value).append(");\n");
+            return;
+        }
+        
+        src.append("        {\n            ").append(boxed(property)).append(" v = ").append(value).append(";\n");
+        if (skipNulls) {
+            src.append("            if (v != null) {\n")
+                .append("                gen.writeFieldName(").append(name).append(");\n");
+        } else {
+            src.append("            gen.writeFieldName(").append(name).append(");\n")
+                .append("            if (v == null) {\n                gen.writeNull();\n            } else {\n");
+        }
+        switch (property.kind) {
+            case STRING:
+                src.append("                gen.writeString(v);\n");
+                break;
+            case LONG:
+            case INTEGER:
+            case DOUBLE:
+            case BIG_DECIMAL:
+                src.append("                gen.writeNumber(v);\n");
+                break;
+            case BOOLEAN:
+                src.append("                gen.writeBoolean(v);\n");
+                break;
+            case LOCAL_DATE_TIME:
+                src.append("                gen.writeString(v.toString());\n");
+                break;
+            case STRING_ARRAY:
+                src.append("                gen.writeArray(v, 0, v.length);\n");
+                break;
+            case CODEC:
+                src.append("                ").append(property.codecClass).append(".write(v, gen, provider);\n");
+                break;
+            default:
+                src.append("                provider.defaultSerializeValue(v, gen);\n");
+        }
+        src.append("            }\n        }\n");
+    }
+    
+    private void appendRead(StringBuilder src, Property property, int index) {
+        src.append("                case ").append(quote(property.jsonName)).append(":\n");
+        if (property.setter == null) {
+            src.append("                    p.skipChildren();\n                    break;\n");
+            return;
+        }
+        String read;
+        switch (property.kind) {
+            case STRING: read = "CodecSupport.readString(p, ctxt)"; break;
+            case LONG: read = "CodecSupport.readLong(p, ctxt)"; break;
+            case INTEGER: read = "CodecSupport.readInteger(p, ctxt)"; break;
+            case DOUBLE: read = "CodecSupport.readDouble(p, ctxt)"; break;
+            case BOOLEAN: read = "CodecSupport.readBoolean(p, ctxt)"; break;
+            case BIG_DECIMAL: read = "CodecSupport.readBigDecimal(p, ctxt)"; break;
+            case LOCAL_DATE_TIME: read = "CodecSupport.readLocalDateTime(p, ctxt)"; break;
+            case STRING_ARRAY: read = "CodecSupport.readStringArray(p, ctxt)"; break;
+            case CODEC:
+                read = "(p.currentToken() == JsonToken.VALUE_NULL ? null : " + property.codecClass + ".read(p, ctxt, null))";
+                break;
+            case TYPE_VARIABLE:
+                read = "CodecSupport.readValue(p, ctxt, typeArguments != null ? typeArguments["
+                    + property.typeVariableIndex + "] : TypeFactory.unknownType())";
+                break;
+            default:
+                read = "CodecSupport.readValue(p, ctxt, TYPE_" + index + ")";
+        }
+        if (property.primitive) {
+            // Leave the field at its default on null, as Jackson does for primitives
+            src.append("                    {\n                        ").append(boxed(property)).append(" v = ").append(read).append(";\n")
+                .append("                        if (v != null) {\n                            value.").append(property.setter).append("(v);\n")
+                .append("                        }\n                    }\n");
+        } else {
+            src.append("                    value.").append(property.setter).append("(").append(read).append(");\n");
+        }
+        src.append("                    break;\n");
+    }
+    
+    private static String boxed(Property property) {
+        if (property.kind == Kind.TYPE_VARIABLE) {
+            return "Object";
+        }
+        if (!property.primitive) {
+            return property.type;
+        }
+        switch (property.type) {
+            case "long": return "Long";
+            case "int": return "Integer";
+            case "double": return "Double";
+            case "boolean": return "Boolean";
+            case "float": return "Float";
+            case "short": return "Short";
+            case "byte": return "Byte";
+            default: return "Character";
+        }
+    }
+    
+    private static boolean hasPublicNoArgConstructor(TypeElement model) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(model.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String simpleEnumName(String value) {
+        return value == null ? null : value.substring(value.lastIndexOf('.') + 1);
+    }
+    
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+    
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + ModelCodec.class.getName());
+            try (Writer writer = file.openWriter()) {
+                for (String codec : generatedCodecs) {
+                    writer.write(codec);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write codec service file: " + e.getMessage());
+        }
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,19 @@
+package com.testlead.automation.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a model class for compile-time generation of a direct Jackson serializer and deserializer.
+ * {@link CodecProcessor} emits a {@code <Model>Codec} class next to the model; classes without a
+ * generated codec keep using Jackson's reflection-based binding.
+ *
+ * Properties are the non-static fields that have a getter, named by {@code @JsonProperty} when present.
+ * The model needs a public no-arg constructor and setters for the fields that should be read.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GeneratedCodec {
+}
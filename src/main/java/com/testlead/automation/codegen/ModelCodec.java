@@ -0,0 +1,20 @@
+package com.testlead.automation.codegen;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+
+/**
+ * Generated serializer/deserializer pair for one model class.
+ * Implementations are emitted by {@link CodecProcessor} and discovered through ServiceLoader.
+ */
+public interface ModelCodec<T> {
+    
+    /**
+     * Model class handled by this codec
+     */
+    Class<T> type();
+    
+    JsonSerializer<T> serializer();
+    
+    JsonDeserializer<T> deserializer();
+}
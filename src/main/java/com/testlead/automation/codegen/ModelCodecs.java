@@ -0,0 +1,56 @@
+package com.testlead.automation.codegen;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Registers the generated model codecs with an ObjectMapper.
+ * Models without a generated codec (or a codec that fails to load) fall back to Jackson reflection.
+ */
+public class ModelCodecs {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ModelCodecs.class);
+    
+    private ModelCodecs() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * Jackson module containing every generated codec found on the classpath
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("GeneratedModelCodecs");
+        int registered = 0;
+        
+        Iterator<ModelCodec> codecs = ServiceLoader.load(ModelCodec.class, ModelCodecs.class.getClassLoader()).iterator();
+        while (true) {
+            ModelCodec codec;
+            try {
+                if (!codecs.hasNext()) {
+                    break;
+                }
+                codec = codecs.next();
+            } catch (ServiceConfigurationError e) {
+                logger.warn("Skipping generated codec that failed to load: {}", e.getMessage());
+                continue;
+            }
+            module.addSerializer(codec.type(), codec.serializer());
+            module.addDeserializer(codec.type(), codec.deserializer());
+            logger.debug("Registered generated codec for {}", codec.type().getName());
+            registered++;
+        }
+        
+        if (registered == 0) {
+            logger.info("No generated model codecs found, using reflection-based binding");
+        } else {
+            logger.info("Registered {} generated model codecs", registered);
+        }
+        return module;
+    }
+}
@@ -0,0 +1,14 @@
+package com.testlead.automation.config;
+
+/**
+ * Notified after a new configuration snapshot has been published (file reload or setter).
+ *
+ * Called on the thread that made the change; implementations should only swap their own
+ * settings and return quickly. {@link ConfigSnapshot#changedKeys(ConfigSnapshot)} tells which
+ * keys differ.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    void onConfigChange(ConfigSnapshot previous, ConfigSnapshot current);
+}
@@ -0,0 +1,99 @@
+package com.testlead.automation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the environment properties file and reloads the configuration when it changes.
+ *
+ * Editors often write a file in several steps, so events are collected until the file has been
+ * quiet for the debounce interval before reloading once. The reload validates the new values and
+ * only then swaps the snapshot; a broken edit leaves the running configuration untouched.
+ */
+public class ConfigFileWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigFileWatcher.class);
+
+    private final Path file;
+    private final long debounceMillis;
+    private final Runnable reload;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigFileWatcher(Path file, long debounceMillis, Runnable reload) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.reload = reload;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} for configuration changes", this.file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close configuration watcher for {}", file, e);
+        }
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Wait until the file is quiet, then reload once
+                while (changed) {
+                    WatchKey next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drain(next);
+                }
+                if (changed) {
+                    logger.info("Configuration file {} changed, reloading", file);
+                    try {
+                        reload.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Configuration reload after change of {} failed", file, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Configuration watcher for {} stopped", file);
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                || (context instanceof Path && file.getFileName().equals(context))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -4,24 +4,62 @@ import com.testlead.automation.utils.DataUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Configuration Manager for handling application properties
  * Singleton pattern implementation for global access
+ *
+ * The loaded configuration is an immutable {@link ConfigSnapshot} published through one atomic
+ * reference: reads are lock-free and allocation-free, and setters swap in a modified copy.
+ *
+ * With config.watch.enabled=true the environment file is watched and reloaded while tests run:
+ * the new values are validated first and swapped in atomically, then {@link ConfigChangeListener}s
+ * reconfigure their components. A file outside the classpath can be used with -Dconfig.file=path.
+ *
+ * Values are resolved from ordered layers into one flat table at load time, later layers winning:
+ * <ol>
+ *   <li>the environment properties file</li>
+ *   <li>environment variables: ENV selects the environment, BASE_URL, PARALLEL_THREADS and LOG_LEVEL
+ *       map to their keys, and any other variable overrides the file key it spells (API_TIMEOUT -&gt; api.timeout)</li>
+ *   <li>system properties, except the JVM's own (java.*, os.*, user.*, ...)</li>
+ *   <li>scoped overlays pushed per thread with {@link #overlay(Map)}, e.g. per test or per virtual user</li>
+ * </ol>
  */
 public class ConfigManager {
     
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static ConfigManager instance;
-    private Properties properties;
+    private static volatile ConfigManager instance;
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    private static final Set<String> reportedMissing = ConcurrentHashMap.newKeySet();
+    private static final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private static final Map<String, ConfigSnapshot> environments = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ConfigSnapshot> overlays = new ThreadLocal<>();
+    private static final Map<String, String> ENVIRONMENT_ALIASES = environmentAliases();
+    private static final List<String> JVM_PROPERTY_PREFIXES = Arrays.asList("java.", "javax.", "jdk.", "sun.",
+        "os.", "user.", "file.", "line.", "path.", "awt.", "native.", "jna.", "surefire.", "maven.", "idea.");
     private String currentEnvironment;
+    private Path configPath;
+    private ConfigFileWatcher watcher;
     
     // Private constructor for singleton pattern
     private ConfigManager() {
-        loadConfiguration();
+        snapshot.set(loadConfiguration());
     }
     
     /**
@@ -32,6 +70,10 @@ public class ConfigManager {
             synchronized (ConfigManager.class) {
                 if (instance == null) {
                     instance = new ConfigManager();
+                    if (current().getBoolean("config.watch.enabled", false)) {
+                        instance.startWatching();
+                    }
+                    listeners.add(ConfigManager::applyLogLevel);
                 }
             }
         }
@@ -39,27 +81,42 @@ public class ConfigManager {
     }
     
     /**
-     * Load configuration based on environment
+     * Load configuration based on environment (not yet published)
      */
-    private void loadConfiguration() {
+    private ConfigSnapshot loadConfiguration() {
         try {
-            // Get environment from system property, default to 'qa'
-            currentEnvironment = System.getProperty("env", "qa").toLowerCase();
+            // Get environment from system property or ENV variable, default to 'qa'
+            String environmentVariable = System.getenv("ENV");
+            currentEnvironment = System.getProperty("env", environmentVariable != null ? environmentVariable : "qa").toLowerCase();
             logger.info("Loading configuration for environment: {}", currentEnvironment);
             
             String configFile = String.format("config/%s.properties", currentEnvironment);
+            String explicitFile = System.getProperty("config.file");
+            Properties properties;
             
             // Load environment-specific properties
-            if (DataUtils.fileExistsInClasspath(configFile)) {
+            if (explicitFile != null) {
+                properties = DataUtils.readPropertiesFromPath(explicitFile);
+                configPath = Paths.get(explicitFile);
+                logger.info("Successfully loaded configuration from: {}", explicitFile);
+            } else if (DataUtils.fileExistsInClasspath(configFile)) {
                 properties = DataUtils.readPropertiesFromClasspath(configFile);
+                configPath = classpathFile(configFile);
                 logger.info("Successfully loaded configuration from: {}", configFile);
             } else {
                 logger.warn("Configuration file not found: {}, loading default qa.properties", configFile);
                 properties = DataUtils.readPropertiesFromClasspath("config/qa.properties");
+                configPath = classpathFile("config/qa.properties");
             }
             
-            // Override with system properties if they exist
-            overrideWithSystemProperties();
+            // Layer environment variables, then system properties, over the file
+            int fileValues = properties.size();
+            int fromEnvironment = overrideWithEnvironmentVariables(properties, System.getenv());
+            int fromSystem = overrideWithSystemProperties(properties);
+            logger.info("Resolved {} properties: {} from file, {} from environment variables, {} from system properties",
+                properties.size(), fileValues, fromEnvironment, fromSystem);
+            
+            return new ConfigSnapshot(currentEnvironment, properties);
             
         } catch (Exception e) {
             logger.error("Error loading configuration", e);
@@ -67,25 +124,173 @@ public class ConfigManager {
         }
     }
     
+    private static Map<String, String> environmentAliases() {
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("BASE_URL", "base.url");
+        aliases.put("PARALLEL_THREADS", "parallel.thread.count");
+        aliases.put("LOG_LEVEL", "log.level");
+        return Collections.unmodifiableMap(aliases);
+    }
+    
     /**
-     * Override properties with system properties
+     * Override properties with environment variables (docker-compose, CI): known aliases, and
+     * variables naming a key the file already defines
      */
-    private void overrideWithSystemProperties() {
-        System.getProperties().forEach((key, value) -> {
-            String keyStr = key.toString();
-            if (keyStr.startsWith("test.") || keyStr.startsWith("api.") || keyStr.startsWith("base.")) {
-                properties.setProperty(keyStr, value.toString());
-                logger.debug("Overridden property {} with system property value", keyStr);
+    private int overrideWithEnvironmentVariables(Properties properties, Map<String, String> variables) {
+        int overridden = 0;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            String key = ENVIRONMENT_ALIASES.get(variable.getKey());
+            if (key == null) {
+                key = variable.getKey().toLowerCase().replace('_', '.');
+                if (!properties.containsKey(key)) {
+                    continue;
+                }
             }
-        });
+            properties.setProperty(key, variable.getValue());
+            logger.debug("Overridden property {} with environment variable {}", key, variable.getKey());
+            overridden++;
+        }
+        return overridden;
+    }
+    
+    /**
+     * Override properties with system properties, skipping the JVM's own
+     */
+    private int overrideWithSystemProperties(Properties properties) {
+        int overridden = 0;
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (isConfigurationProperty(key)) {
+                properties.setProperty(key, System.getProperty(key));
+                logger.debug("Overridden property {} with system property value", key);
+                overridden++;
+            }
+        }
+        return overridden;
+    }
+    
+    private static boolean isConfigurationProperty(String key) {
+        if (key.equals("env") || key.equals("config.file") || key.indexOf('.') < 0) {
+            return false;
+        }
+        for (String prefix : JVM_PROPERTY_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * File system location of a classpath resource, or null when it is inside a jar
+     */
+    private static Path classpathFile(String resource) {
+        try {
+            URL url = ConfigManager.class.getClassLoader().getResource(resource);
+            return url != null && "file".equals(url.getProtocol()) ? Paths.get(url.toURI()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Current configuration snapshot of the calling thread (including its overlays); hold on to it
+     * to read several values consistently
+     */
+    public static ConfigSnapshot current() {
+        ConfigSnapshot overlay = overlays.get();
+        if (overlay != null) {
+            return overlay;
+        }
+        ConfigSnapshot current = snapshot.get();
+        if (current == null) {
+            getInstance();
+            current = snapshot.get();
+        }
+        return current;
+    }
+    
+    /**
+     * Push values that override the configuration for the calling thread until the returned
+     * overlay is closed; overlays nest and must be closed in reverse order:
+     * <pre>
+     * try (ConfigManager.Overlay overlay = ConfigManager.overlay(Collections.singletonMap("api.timeout", "2000"))) {
+     *     ...
+     * }
+     * </pre>
+     * Only the overridden values are parsed. The thread keeps reading the configuration underneath
+     * as it was at push time, so reloads and setters take effect for it after the overlay is closed.
+     */
+    public static Overlay overlay(Map<String, String> overrides) {
+        ConfigSnapshot previous = overlays.get();
+        ConfigSnapshot base = previous != null ? previous : current();
+        overlays.set(base.overlay(overrides));
+        return new Overlay(previous);
+    }
+    
+    /**
+     * Push a single overriding value for the calling thread
+     */
+    public static Overlay overlay(String key, String value) {
+        return overlay(Collections.singletonMap(key, value));
+    }
+    
+    /**
+     * Drop all overlays of the calling thread (e.g. after a test that did not close its own)
+     */
+    public static void clearOverlays() {
+        overlays.remove();
+    }
+    
+    /**
+     * Scope of a configuration overlay; closing it restores the thread's previous configuration
+     */
+    public static final class Overlay implements AutoCloseable {
+        private final ConfigSnapshot previous;
+        
+        private Overlay(ConfigSnapshot previous) {
+            this.previous = previous;
+        }
+        
+        @Override
+        public void close() {
+            if (previous == null) {
+                overlays.remove();
+            } else {
+                overlays.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Configuration of any environment, for clients bound to an environment other than the
+     * default one. The default environment returns {@link #current()}; others are loaded once from
+     * config/&lt;environment&gt;.properties without system property overrides, which target the
+     * default environment.
+     */
+    public static ConfigSnapshot forEnvironment(String environment) {
+        String name = environment.toLowerCase();
+        if (name.equals(getInstance().getCurrentEnvironment())) {
+            return current();
+        }
+        return environments.computeIfAbsent(name, ConfigManager::loadEnvironment);
+    }
+    
+    private static ConfigSnapshot loadEnvironment(String environment) {
+        String configFile = String.format("config/%s.properties", environment);
+        if (!DataUtils.fileExistsInClasspath(configFile)) {
+            throw new RuntimeException("Configuration file not found for environment '" + environment + "': " + configFile);
+        }
+        logger.info("Loading configuration for additional environment: {}", environment);
+        return new ConfigSnapshot(environment, DataUtils.readPropertiesFromClasspath(configFile));
     }
     
     /**
      * Get property value
      */
     public String getProperty(String key) {
-        String value = properties.getProperty(key);
-        if (value == null) {
+        String value = current().get(key);
+        if (value == null && reportedMissing.add(key)) {
+            // Once per key, not on every lookup
             logger.warn("Property '{}' not found", key);
         }
         return value;
@@ -95,11 +300,7 @@ public class ConfigManager {
      * Get property value with default
      */
     public String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key, defaultValue);
-        if (value.equals(defaultValue)) {
-            logger.debug("Using default value '{}' for property '{}'", defaultValue, key);
-        }
-        return value;
+        return current().get(key, defaultValue);
     }
     
     /**
@@ -113,93 +314,77 @@ public class ConfigManager {
      * Static method to get property with default - for convenience
      */
     public static String get(String key, String defaultValue) {
-        return getInstance().getProperty(key, defaultValue);
+        return current().get(key, defaultValue);
     }
     
     /**
      * Get property as integer
      */
     public int getIntProperty(String key, int defaultValue) {
-        try {
-            String value = getProperty(key);
-            return value != null ? Integer.parseInt(value) : defaultValue;
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid integer value for property '{}', using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return current().getInt(key, defaultValue);
     }
     
     /**
      * Static method to get integer property
      */
     public static int getInt(String key, int defaultValue) {
-        return getInstance().getIntProperty(key, defaultValue);
+        return current().getInt(key, defaultValue);
     }
     
     /**
      * Get property as boolean
      */
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = getProperty(key);
-        if (value != null) {
-            return Boolean.parseBoolean(value.trim().toLowerCase());
-        }
-        return defaultValue;
+        return current().getBoolean(key, defaultValue);
     }
     
     /**
      * Static method to get boolean property
      */
     public static boolean getBoolean(String key, boolean defaultValue) {
-        return getInstance().getBooleanProperty(key, defaultValue);
+        return current().getBoolean(key, defaultValue);
     }
     
     /**
      * Get property as long
      */
     public long getLongProperty(String key, long defaultValue) {
-        try {
-            String value = getProperty(key);
-            return value != null ? Long.parseLong(value) : defaultValue;
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid long value for property '{}', using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return current().getLong(key, defaultValue);
     }
     
     /**
      * Static method to get long property
      */
     public static long getLong(String key, long defaultValue) {
-        return getInstance().getLongProperty(key, defaultValue);
+        return current().getLong(key, defaultValue);
     }
     
     /**
      * Get property as double
      */
     public double getDoubleProperty(String key, double defaultValue) {
-        try {
-            String value = getProperty(key);
-            return value != null ? Double.parseDouble(value) : defaultValue;
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid double value for property '{}', using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return current().getDouble(key, defaultValue);
     }
     
     /**
      * Static method to get double property
      */
     public static double getDouble(String key, double defaultValue) {
-        return getInstance().getDoubleProperty(key, defaultValue);
+        return current().getDouble(key, defaultValue);
     }
     
     /**
-     * Set property value
+     * Set property value (publishes a new snapshot)
      */
     public void setProperty(String key, String value) {
-        properties.setProperty(key, value);
+        ConfigSnapshot previous;
+        ConfigSnapshot updated;
+        do {
+            previous = snapshot.get();
+            updated = previous.with(key, value);
+        } while (!snapshot.compareAndSet(previous, updated));
         logger.debug("Set property '{}' to '{}'", key, value);
+        notifyListeners(previous, updated);
     }
     
     /**
@@ -227,7 +412,7 @@ public class ConfigManager {
      * Check if property exists
      */
     public boolean hasProperty(String key) {
-        return properties.containsKey(key);
+        return current().has(key);
     }
     
     /**
@@ -241,43 +426,127 @@ public class ConfigManager {
      * Get all properties
      */
     public Properties getAllProperties() {
-        return new Properties(properties);
+        Properties properties = new Properties();
+        properties.putAll(current().asMap());
+        return properties;
     }
     
     /**
-     * Reload configuration
+     * Reload configuration: the new values are validated and swapped in as one snapshot, then
+     * listeners are notified. Invalid configuration is rejected and the current one kept.
+     *
+     * @return true if the new configuration was published
      */
-    public void reload() {
+    public synchronized boolean reload() {
         logger.info("Reloading configuration...");
-        loadConfiguration();
+        ConfigSnapshot updated;
+        try {
+            updated = loadConfiguration();
+            validateSnapshot(updated);
+        } catch (RuntimeException e) {
+            logger.error("Configuration reload rejected, keeping current configuration: {}", e.getMessage());
+            return false;
+        }
+        ConfigSnapshot previous = snapshot.getAndSet(updated);
+        reportedMissing.clear();
+        environments.clear();
+        logger.info("Configuration reloaded, changed keys: {}", updated.changedKeys(previous));
+        notifyListeners(previous, updated);
+        return true;
     }
     
     /**
      * Static method to reload configuration
      */
-    public static void reloadConfig() {
-        getInstance().reload();
+    public static boolean reloadConfig() {
+        return getInstance().reload();
+    }
+    
+    /**
+     * Register a listener for configuration changes (reloads and setters)
+     */
+    public static void addListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Remove a configuration change listener
+     */
+    public static void removeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    private static void notifyListeners(ConfigSnapshot previous, ConfigSnapshot current) {
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigChange(previous, current);
+            } catch (RuntimeException e) {
+                logger.error("Configuration change listener {} failed", listener, e);
+            }
+        }
+    }
+    
+    /**
+     * Start watching the configuration file for changes (config.watch.enabled=true does this at startup)
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        if (configPath == null || !Files.isRegularFile(configPath)) {
+            logger.warn("Configuration is not loaded from a file on disk, cannot watch it for changes");
+            return;
+        }
+        try {
+            watcher = new ConfigFileWatcher(configPath, current().getLong("config.watch.debounce.ms", 500L), this::reload);
+        } catch (IOException e) {
+            logger.error("Failed to watch configuration file {}", configPath, e);
+        }
+    }
+    
+    /**
+     * Stop watching the configuration file
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+    
+    /**
+     * Apply a changed log.level to the root logger
+     */
+    private static void applyLogLevel(ConfigSnapshot previous, ConfigSnapshot current) {
+        if (current.getLogLevel().equalsIgnoreCase(previous.getLogLevel())) {
+            return;
+        }
+        Logger root = LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root instanceof ch.qos.logback.classic.Logger) {
+            ((ch.qos.logback.classic.Logger) root).setLevel(ch.qos.logback.classic.Level.toLevel(current.getLogLevel()));
+            logger.info("Root log level changed to {}", current.getLogLevel());
+        }
     }
     
     /**
      * Get base URL for API
      */
     public String getBaseUrl() {
-        return getProperty("base.url", "http://localhost:8080");
+        return current().getBaseUrl();
     }
     
     /**
      * Static method to get base URL
      */
     public static String baseUrl() {
-        return getInstance().getBaseUrl();
+        return current().getBaseUrl();
     }
     
     /**
      * Get API timeout
      */
     public int getApiTimeout() {
-        return getIntProperty("api.timeout", 30000);
+        return current().getApiTimeout();
     }
     
     /**
@@ -291,7 +560,7 @@ public class ConfigManager {
      * Get retry count
      */
     public int getRetryCount() {
-        return getIntProperty("api.retry.count", 3);
+        return current().getRetryCount();
     }
     
     /**
@@ -348,12 +617,12 @@ public class ConfigManager {
      */
     public void printAllProperties() {
         logger.info("=== Configuration Properties ===");
-        properties.forEach((key, value) -> {
+        current().asMap().forEach((key, value) -> {
             // Hide sensitive information
-            String displayValue = key.toString().toLowerCase().contains("password") 
-                || key.toString().toLowerCase().contains("secret")
-                || key.toString().toLowerCase().contains("token") 
-                ? "****" : value.toString();
+            String displayValue = key.toLowerCase().contains("password") 
+                || key.toLowerCase().contains("secret")
+                || key.toLowerCase().contains("token") 
+                ? "****" : value;
             logger.info("{} = {}", key, displayValue);
         });
         logger.info("=== End Configuration Properties ===");
@@ -430,7 +699,7 @@ public class ConfigManager {
      * Get API version
      */
     public String getApiVersion() {
-        return getProperty("api.version", "v1");
+        return current().getApiVersion();
     }
     
     /**
@@ -444,7 +713,7 @@ public class ConfigManager {
      * Get request timeout in milliseconds
      */
     public int getRequestTimeout() {
-        return getIntProperty("request.timeout", 30000);
+        return current().getRequestTimeout();
     }
     
     /**
@@ -458,7 +727,7 @@ public class ConfigManager {
      * Get connection timeout in milliseconds
      */
     public int getConnectionTimeout() {
-        return getIntProperty("connection.timeout", 10000);
+        return current().getConnectionTimeout();
     }
     
     /**
@@ -472,7 +741,7 @@ public class ConfigManager {
      * Check if SSL verification is enabled
      */
     public boolean isSslVerificationEnabled() {
-        return getBooleanProperty("ssl.verification.enabled", true);
+        return current().isSslVerificationEnabled();
     }
     
     /**
@@ -486,7 +755,7 @@ public class ConfigManager {
      * Check if debug mode is enabled
      */
     public boolean isDebugMode() {
-        return getBooleanProperty("debug.enabled", false);
+        return current().isDebugMode();
     }
     
     /**
@@ -500,7 +769,7 @@ public class ConfigManager {
      * Get parallel execution thread count
      */
     public int getParallelThreadCount() {
-        return getIntProperty("parallel.thread.count", 5);
+        return current().getParallelThreadCount();
     }
     
     /**
@@ -599,12 +868,20 @@ public class ConfigManager {
      */
     public void validateConfiguration() {
         logger.info("Validating configuration for environment: {}", currentEnvironment);
-        
+        validateSnapshot(current());
+        logger.info("Configuration validation passed successfully");
+    }
+    
+    /**
+     * Validate a snapshot before or after it is published
+     */
+    private void validateSnapshot(ConfigSnapshot config) {
         List<String> missingProperties = new ArrayList<>();
         List<String> requiredProperties = getRequiredProperties();
         
         for (String property : requiredProperties) {
-            if (!hasProperty(property) || getProperty(property) == null || getProperty(property).trim().isEmpty()) {
+            String value = config.get(property);
+            if (value == null || value.trim().isEmpty()) {
                 missingProperties.add(property);
             }
         }
@@ -619,9 +896,7 @@ public class ConfigManager {
         }
         
         // Validate property formats
-        validatePropertyFormats();
-        
-        logger.info("Configuration validation passed successfully");
+        validatePropertyFormats(config);
     }
     
     /**
@@ -656,23 +931,22 @@ public class ConfigManager {
     /**
      * Validate property formats (URLs, numbers, etc.)
      */
-    private void validatePropertyFormats() {
-        // Validate base URL format
-        String baseUrl = getProperty("base.url");
-        if (baseUrl != null && !isValidUrl(baseUrl)) {
-            throw new RuntimeException("Invalid base.url format: " + baseUrl);
+    private void validatePropertyFormats(ConfigSnapshot config) {
+        // Validate base URL format (parsed once when the snapshot was built)
+        if (config.has("base.url") && config.getParsedBaseUrl() == null) {
+            throw new RuntimeException("Invalid base.url format: " + config.get("base.url"));
         }
         
         // Validate timeout values are positive numbers
-        validatePositiveInteger("api.timeout");
-        validatePositiveInteger("request.timeout");
-        validatePositiveInteger("connection.timeout");
-        validatePositiveInteger("parallel.thread.count");
-        validatePositiveInteger("api.retry.count");
+        validatePositiveInteger(config, "api.timeout");
+        validatePositiveInteger(config, "request.timeout");
+        validatePositiveInteger(config, "connection.timeout");
+        validatePositiveInteger(config, "parallel.thread.count");
+        validatePositiveInteger(config, "api.retry.count");
         
         // Validate boolean properties
-        validateBooleanProperty("debug.enabled");
-        validateBooleanProperty("ssl.verification.enabled");
+        validateBooleanProperty(config, "debug.enabled");
+        validateBooleanProperty(config, "ssl.verification.enabled");
         
         logger.debug("Property format validation completed");
     }
@@ -680,27 +954,25 @@ public class ConfigManager {
     /**
      * Validate that a property is a positive integer
      */
-    private void validatePositiveInteger(String propertyKey) {
-        String value = getProperty(propertyKey);
+    private void validatePositiveInteger(ConfigSnapshot config, String propertyKey) {
+        String value = config.get(propertyKey);
         if (value != null) {
-            try {
-                int intValue = Integer.parseInt(value);
-                if (intValue <= 0) {
-                    throw new RuntimeException(String.format(
-                        "Property '%s' must be a positive integer, got: %s", propertyKey, value));
-                }
-            } catch (NumberFormatException e) {
+            if (!config.isInt(propertyKey)) {
                 throw new RuntimeException(String.format(
                     "Property '%s' must be a valid integer, got: %s", propertyKey, value));
             }
+            if (config.getInt(propertyKey, 0) <= 0) {
+                throw new RuntimeException(String.format(
+                    "Property '%s' must be a positive integer, got: %s", propertyKey, value));
+            }
         }
     }
     
     /**
      * Validate that a property is a valid boolean
      */
-    private void validateBooleanProperty(String propertyKey) {
-        String value = getProperty(propertyKey);
+    private void validateBooleanProperty(ConfigSnapshot config, String propertyKey) {
+        String value = config.get(propertyKey);
         if (value != null) {
             String lowerValue = value.toLowerCase().trim();
             if (!lowerValue.equals("true") && !lowerValue.equals("false")) {
@@ -710,18 +982,6 @@ public class ConfigManager {
         }
     }
     
-    /**
-     * Check if URL is valid
-     */
-    private boolean isValidUrl(String url) {
-        try {
-            new java.net.URL(url);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
     /**
      * Validate specific property exists and is not empty
      */
@@ -851,14 +1111,14 @@ public class ConfigManager {
      * Check if request/response logging is enabled
      */
     public boolean isRequestLoggingEnabled() {
-        return getBooleanProperty("logging.enabled", true);
+        return current().isLoggingEnabled();
     }
     
     /**
      * Static method to check if logging is enabled
      */
     public static boolean isLoggingEnabled() {
-        return getInstance().isRequestLoggingEnabled();
+        return current().isLoggingEnabled();
     }
     
     /**
@@ -880,7 +1140,7 @@ public class ConfigManager {
      * Check if verbose logging is enabled
      */
     public boolean isVerboseLoggingEnabled() {
-        return getBooleanProperty("logging.verbose", false);
+        return current().isVerboseLogging();
     }
     
     /**
@@ -909,7 +1169,7 @@ public class ConfigManager {
      * Get log level
      */
     public String getLogLevel() {
-        return getProperty("log.level", "INFO");
+        return current().getLogLevel();
     }
     
     /**
@@ -0,0 +1,318 @@
+package com.testlead.automation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable, typed view of one environment's configuration.
+ *
+ * Every value is parsed once when the snapshot is built: numbers, booleans and the base URL.
+ * Reads are a single hash lookup and a field read - no parsing, no logging, no allocation.
+ * A value that does not parse as the requested type reads as the caller's default, as before.
+ * Changing a value builds a new snapshot ({@link #with(String, String)}).
+ *
+ * An overlay ({@link #overlay(Map)}) only parses its own few values and falls back to the
+ * snapshot below it, so pushing one per test or per virtual user stays cheap.
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    private final String environment;
+    private final ConfigSnapshot parent;
+    private final Map<String, Value> values;
+
+    // Frequently read settings, resolved up front
+    private final String baseUrl;
+    private final URL parsedBaseUrl;
+    private final int apiTimeout;
+    private final int requestTimeout;
+    private final int connectionTimeout;
+    private final int retryCount;
+    private final int parallelThreadCount;
+    private final boolean loggingEnabled;
+    private final boolean verboseLogging;
+    private final boolean debugMode;
+    private final boolean sslVerificationEnabled;
+    private final String logLevel;
+    private final String apiVersion;
+
+    public ConfigSnapshot(String environment, Properties properties) {
+        this(environment, toMap(properties));
+    }
+
+    public ConfigSnapshot(String environment, Map<String, String> properties) {
+        this(environment, null, properties);
+    }
+
+    private ConfigSnapshot(String environment, ConfigSnapshot parent, Map<String, String> properties) {
+        this.environment = environment;
+        this.parent = parent;
+        Map<String, Value> parsed = new HashMap<>(Math.max(16, properties.size() * 2));
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getValue() != null) {
+                parsed.put(entry.getKey(), new Value(entry.getValue()));
+            }
+        }
+        this.values = Collections.unmodifiableMap(parsed);
+
+        this.baseUrl = get("base.url", "http://localhost:8080");
+        this.parsedBaseUrl = parent != null && !values.containsKey("base.url") ? parent.parsedBaseUrl : parseUrl(baseUrl);
+        this.apiTimeout = getInt("api.timeout", 30000);
+        this.requestTimeout = getInt("request.timeout", 30000);
+        this.connectionTimeout = getInt("connection.timeout", 10000);
+        this.retryCount = getInt("api.retry.count", 3);
+        this.parallelThreadCount = getInt("parallel.thread.count", 5);
+        this.loggingEnabled = getBoolean("logging.enabled", true);
+        this.verboseLogging = getBoolean("logging.verbose", false);
+        this.debugMode = getBoolean("debug.enabled", false);
+        this.sslVerificationEnabled = getBoolean("ssl.verification.enabled", true);
+        this.logLevel = get("log.level", "INFO");
+        this.apiVersion = get("api.version", "v1");
+    }
+
+    // =============== LOOKUPS ===============
+
+    public String get(String key) {
+        Value value = value(key);
+        return value == null ? null : value.text;
+    }
+
+    public String get(String key, String defaultValue) {
+        Value value = value(key);
+        return value == null ? defaultValue : value.text;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Value value = value(key);
+        return value != null && value.isInt ? value.intValue : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Value value = value(key);
+        return value != null && value.isLong ? value.longValue : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Value value = value(key);
+        return value != null && value.isDouble ? value.doubleValue : defaultValue;
+    }
+
+    /**
+     * Any value other than "true" (ignoring case and spaces) is false; a missing key is the default
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = value(key);
+        return value == null ? defaultValue : value.booleanValue;
+    }
+
+    public boolean has(String key) {
+        return value(key) != null;
+    }
+
+    /**
+     * True when the key exists and holds a valid integer
+     */
+    public boolean isInt(String key) {
+        Value value = value(key);
+        return value != null && value.isInt;
+    }
+
+    /**
+     * All values, sorted by key (allocates; not for hot paths)
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> map = parent == null ? new TreeMap<>() : parent.asMap();
+        values.forEach((key, value) -> map.put(key, value.text));
+        return map;
+    }
+
+    /**
+     * Copy of this snapshot with one value changed (null removes it)
+     */
+    public ConfigSnapshot with(String key, String value) {
+        Map<String, String> map = asMap();
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+        return new ConfigSnapshot(environment, map);
+    }
+
+    /**
+     * Snapshot that reads the given values first and everything else from this one
+     */
+    public ConfigSnapshot overlay(Map<String, String> overrides) {
+        return new ConfigSnapshot(environment, this, overrides);
+    }
+
+    /**
+     * Keys added, removed or changed compared to another snapshot
+     */
+    public Set<String> changedKeys(ConfigSnapshot other) {
+        Set<String> changed = new HashSet<>();
+        asMap().forEach((key, value) -> {
+            if (!value.equals(other.get(key))) {
+                changed.add(key);
+            }
+        });
+        for (String key : other.asMap().keySet()) {
+            if (!has(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * True when any key starting with one of the prefixes differs from the other snapshot
+     */
+    public boolean changed(ConfigSnapshot other, String... prefixes) {
+        for (String key : changedKeys(other)) {
+            for (String prefix : prefixes) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // =============== TYPED SETTINGS ===============
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * The base URL, or null when it is not a valid URL
+     */
+    public URL getParsedBaseUrl() {
+        return parsedBaseUrl;
+    }
+
+    public int getApiTimeout() {
+        return apiTimeout;
+    }
+
+    public int getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public int getParallelThreadCount() {
+        return parallelThreadCount;
+    }
+
+    public boolean isLoggingEnabled() {
+        return loggingEnabled;
+    }
+
+    public boolean isVerboseLogging() {
+        return verboseLogging;
+    }
+
+    public boolean isDebugMode() {
+        return debugMode;
+    }
+
+    public boolean isSslVerificationEnabled() {
+        return sslVerificationEnabled;
+    }
+
+    public String getLogLevel() {
+        return logLevel;
+    }
+
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    // =============== PARSING ===============
+
+    private Value value(String key) {
+        Value value = values.get(key);
+        return value != null || parent == null ? value : parent.value(key);
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        Map<String, String> map = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+        return map;
+    }
+
+    private static URL parseUrl(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            logger.warn("base.url is not a valid URL: {}", url);
+            return null;
+        }
+    }
+
+    /**
+     * One value with every typed form it parses to
+     */
+    private static final class Value {
+        private final String text;
+        private final boolean isInt;
+        private final boolean isLong;
+        private final boolean isDouble;
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final boolean booleanValue;
+
+        Value(String text) {
+            this.text = text;
+            String trimmed = text.trim();
+            long parsedLong = 0;
+            boolean longOk;
+            try {
+                parsedLong = Long.parseLong(trimmed);
+                longOk = true;
+            } catch (NumberFormatException e) {
+                longOk = false;
+            }
+            double parsedDouble = 0;
+            boolean doubleOk;
+            try {
+                parsedDouble = Double.parseDouble(trimmed);
+                doubleOk = true;
+            } catch (NumberFormatException e) {
+                doubleOk = false;
+            }
+            this.isLong = longOk;
+            this.longValue = parsedLong;
+            this.isInt = longOk && parsedLong >= Integer.MIN_VALUE && parsedLong <= Integer.MAX_VALUE;
+            this.intValue = isInt ? (int) parsedLong : 0;
+            this.isDouble = doubleOk;
+            this.doubleValue = parsedDouble;
+            this.booleanValue = "true".equalsIgnoreCase(trimmed);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.testlead.automation.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.testlead.automation.codegen.GeneratedCodec;
 
 import java.util.Map;
 
@@ -10,6 +11,7 @@ import java.util.Map;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@GeneratedCodec
 public class ApiResponse<T> {
     
     private int statusCode;
@@ -2,6 +2,7 @@ package com.testlead.automation.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.testlead.automation.codegen.GeneratedCodec;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ import java.util.Objects;
  * Product model class representing a product entity
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@GeneratedCodec
 public class Product {
     
     @JsonProperty("id")
@@ -218,6 +220,7 @@ public class Product {
      * Nested class for product dimensions
      */
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @GeneratedCodec
     public static class Dimensions {
         @JsonProperty("length")
         private Double length;
@@ -2,6 +2,7 @@ package com.testlead.automation.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.testlead.automation.codegen.GeneratedCodec;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -10,6 +11,7 @@ import java.util.Objects;
  * User model class representing user entity
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@GeneratedCodec
 public class User {
     
     @JsonProperty("id")
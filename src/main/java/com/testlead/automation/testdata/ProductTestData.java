@@ -3,6 +3,8 @@ package com.testlead.automation.testdata;
 import com.testlead.automation.models.Product;
 import com.testlead.automation.utils.DataFaker;
 import com.testlead.automation.utils.DataUtils;
+import com.testlead.automation.utils.JsonPatch;
+import com.testlead.automation.utils.UniqueKeys;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Test data provider for Product-related test scenarios
@@ -20,6 +23,8 @@ public class ProductTestData {
     private static final Logger logger = LoggerFactory.getLogger(ProductTestData.class);
     private static final DataFaker dataFaker = DataFaker.getInstance();
     
+    private static final BigDecimal PERFORMANCE_BASE_PRICE = new BigDecimal("19.99");
+    
     // Predefined test products for consistent testing
     private static final Map<String, Product> PREDEFINED_PRODUCTS = new HashMap<>();
     
@@ -27,6 +32,9 @@ public class ProductTestData {
         initializePredefinedProducts();
     }
     
+    // Valid products generated ahead of time in the background
+    private static final TestDataPool<Product> validProducts = TestDataPool.of("products", ProductTestData::generateValidProduct);
+    
     /**
      * Initialize predefined test products
      */
@@ -120,9 +128,16 @@ public class ProductTestData {
     }
     
     /**
-     * Generate a valid product with random data
+     * Get a valid product with random data (pre-generated)
      */
     public static Product getValidProduct() {
+        return validProducts.take();
+    }
+    
+    /**
+     * Generate a valid product with random data
+     */
+    private static Product generateValidProduct() {
         Product product = new Product();
         product.setName(dataFaker.getProductName());
         product.setDescription(dataFaker.getDescription());
@@ -137,10 +152,10 @@ public class ProductTestData {
     }
     
     /**
-     * Generate random SKU
+     * Generate unique SKU
      */
     private static String generateSKU() {
-        return "SKU-" + dataFaker.getRandomAlphanumeric(8).toUpperCase();
+        return UniqueKeys.sku();
     }
     
     /**
@@ -228,6 +243,48 @@ public class ProductTestData {
         return product;
     }
     
+    /**
+     * Get invalid product payloads for validation tests, keyed by description.
+     * Only violations the API is known to reject: required fields removed, nulled or blanked,
+     * and price/quantity given the wrong JSON type.
+     * Variants are patched from one base tree instead of building a Product per case.
+     */
+    public static Map<String, JsonNode> getInvalidProductPayloads() {
+        JsonPatch.Template template = JsonPatch.template(getValidProduct());
+        Map<String, JsonNode> payloads = new LinkedHashMap<>(template.fieldMutations(
+            Arrays.asList("name", "category", "sku"),
+            Arrays.asList(null, "")));
+        payloads.putAll(template.fieldMutations(
+            Collections.singletonList("price"),
+            Arrays.asList(null, "free")));
+        payloads.put("quantity = 'ten'", template.variant(JsonPatch.create().add("/quantity", "ten")));
+        logger.debug("Generated {} invalid product payloads", payloads.size());
+        return payloads;
+    }
+    
+    /**
+     * Get boundary product payloads, keyed by description: whitespace-only and oversized fields,
+     * out-of-range numbers, negative dimensions and tags given as a string.
+     * The API may accept or reject these.
+     */
+    public static Map<String, JsonNode> getBoundaryProductPayloads() {
+        JsonPatch.Template template = JsonPatch.template(getValidProduct());
+        Map<String, JsonNode> payloads = new LinkedHashMap<>();
+        for (String field : Arrays.asList("name", "category", "sku")) {
+            payloads.put(field + " = '   '", template.variant(JsonPatch.create().add("/" + field, "   ")));
+            payloads.put(field + " = 300 chars", template.variant(JsonPatch.create().add("/" + field, "a".repeat(300))));
+        }
+        payloads.put("price = -10.00", template.variant(JsonPatch.create().add("/price", -10.00)));
+        payloads.put("price = 0", template.variant(JsonPatch.create().add("/price", 0)));
+        payloads.put("quantity = -1", template.variant(JsonPatch.create().add("/quantity", -1)));
+        payloads.put("quantity = 1.5", template.variant(JsonPatch.create().add("/quantity", 1.5)));
+        payloads.put("dimensions.length = -1", template.variant(JsonPatch.create()
+            .add("/dimensions", new Product.Dimensions(-1.0, 10.0, 10.0, "cm"))));
+        payloads.put("tags = 'not-an-array'", template.variant(JsonPatch.create().replace("/tags", "not-an-array")));
+        logger.debug("Generated {} boundary product payloads", payloads.size());
+        return payloads;
+    }
+    
     /**
      * Get product with invalid price (negative)
      */
@@ -255,23 +312,37 @@ public class ProductTestData {
      * Get products for performance testing
      */
     public static List<Product> getProductsForPerformanceTesting(int count) {
-        List<Product> products = new ArrayList<>();
+        List<Product> products = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            Product product = new Product();
-            product.setName("PerfProduct" + i);
-            product.setDescription("Performance test product " + i);
-            product.setPrice(new BigDecimal("19.99").add(new BigDecimal(i)));
-            product.setCategory("Performance");
-            product.setSku("PERF-" + String.format("%06d", i));
-            product.setQuantity(100 + i);
-            product.setIsActive(true);
-            product.setTags(new String[]{"performance", "test"});
-            
-            products.add(product);
+            products.add(getPerformanceProduct(i));
         }
         return products;
     }
     
+    /**
+     * Stream performance test products created on demand; memory use does not depend on count.
+     * Feed bulk endpoints with ProductApiClient.bulkCreateProducts(stream, batchSize, ...).
+     */
+    public static Stream<Product> streamProductsForPerformanceTesting(long count) {
+        return TestDataStreams.generate(count, ProductTestData::getPerformanceProduct);
+    }
+    
+    /**
+     * Performance test product number i; the SKU is unique across runs
+     */
+    public static Product getPerformanceProduct(long i) {
+        Product product = new Product();
+        product.setName("PerfProduct" + i);
+        product.setDescription("Performance test product " + i);
+        product.setPrice(PERFORMANCE_BASE_PRICE.add(BigDecimal.valueOf(i)));
+        product.setCategory("Performance");
+        product.setSku(UniqueKeys.sku());
+        product.setQuantity((int) (100 + i));
+        product.setIsActive(true);
+        product.setTags(new String[]{"performance", "test"});
+        return product;
+    }
+    
     /**
      * Get products with different categories for filtering tests
      */
@@ -0,0 +1,199 @@
+package com.testlead.automation.testdata;
+
+import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.utils.DataFaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool of test data generated ahead of time by background producers.
+ *
+ * Generating an entity with datafaker resolves several expressions per field, which is slow enough
+ * to show up in load profiles. Pools are filled on daemon producer threads and handed out through a
+ * lock-free queue; every entity goes to exactly one consumer. {@link #take()} never waits: when the
+ * pool has run dry it generates on the caller's thread and counts a miss, so misses say the pool is
+ * too small or the producers too slow. Falling below the low watermark schedules a refill.
+ *
+ * Entity n of a pool is always generated from the run seed, the pool name and n, whichever thread
+ * generates it, so a run replayed with -Dtestdata.seed produces the same entities in the same order.
+ * With parallel tests the order in which tests take them can still differ; set
+ * testdata.pool.enabled=false to generate inline from each test's own seed instead.
+ *
+ * testdata.pool.enabled (default true), testdata.pool.size (default 256) and testdata.pool.producers
+ * (default 1) configure all pools.
+ */
+public class TestDataPool<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDataPool.class);
+    private static final boolean ENABLED = ConfigManager.getBoolean("testdata.pool.enabled", true);
+    private static final int DEFAULT_CAPACITY = Math.max(1, ConfigManager.getInt("testdata.pool.size", 256));
+    private static final int PRODUCERS = Math.max(1, ConfigManager.getInt("testdata.pool.producers", 1));
+    private static final Map<String, TestDataPool<?>> pools = new ConcurrentHashMap<>();
+    private static final ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS, runnable -> {
+        Thread thread = new Thread(runnable, "test-data-producer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final String name;
+    private final Supplier<T> generator;
+    private final int capacity;
+    private final int lowWatermark;
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue, so the depth is counted separately
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    // Number of the next entity; every entity is seeded from it
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder producerNanos = new LongAdder();
+    private volatile boolean failed;
+
+    private TestDataPool(String name, Supplier<T> generator, int capacity) {
+        this.name = name;
+        this.generator = generator;
+        this.capacity = capacity;
+        this.lowWatermark = Math.max(1, capacity / 2);
+        if (ENABLED) {
+            refill();
+        }
+    }
+
+    /**
+     * Pool of the given name, created and filling in the background on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TestDataPool<T> of(String name, Supplier<T> generator) {
+        return (TestDataPool<T>) pools.computeIfAbsent(name, k -> new TestDataPool<>(name, generator, DEFAULT_CAPACITY));
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Next pre-generated entity; generated on the calling thread if the pool is empty
+     */
+    public T take() {
+        if (!ENABLED) {
+            return generator.get();
+        }
+        T item = queue.poll();
+        if (item == null) {
+            misses.increment();
+            refill();
+            // Seeded like a pooled entity, without moving the caller's own sequence
+            return DataFaker.withSeed(name + "#" + sequence.getAndIncrement(), generator);
+        }
+        served.increment();
+        if (depth.decrementAndGet() < lowWatermark) {
+            refill();
+        }
+        return item;
+    }
+
+    // =============== METRICS ===============
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Entities ready to be handed out
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getGenerated() {
+        return generated.sum();
+    }
+
+    public long getServed() {
+        return served.sum();
+    }
+
+    /**
+     * Takes that found the pool empty and generated on the caller's thread
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Entities the producers generate per second of producer time
+     */
+    public double getRefillRate() {
+        long nanos = producerNanos.sum();
+        return nanos == 0 ? 0 : generated.sum() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Log depth, refill rate and hit ratio of every pool
+     */
+    public static void logStatistics() {
+        for (TestDataPool<?> pool : pools.values()) {
+            long served = pool.getServed();
+            long misses = pool.getMisses();
+            if (served + misses == 0) {
+                continue;
+            }
+            logger.info("Test data pool {} - depth: {}/{}, served: {}, misses: {} ({}% from pool), generated: {}, refill rate: {}/s",
+                pool.name, pool.getDepth(), pool.capacity, served, misses, 100 * served / (served + misses),
+                pool.getGenerated(), Math.round(pool.getRefillRate()));
+        }
+    }
+
+    // =============== PRODUCER ===============
+
+    private void refill() {
+        if (!failed && refilling.compareAndSet(false, true)) {
+            producers.execute(this::fill);
+        }
+    }
+
+    private void fill() {
+        try {
+            while (depth.get() < capacity) {
+                long start = System.nanoTime();
+                // Producer threads run no tests, so their generators are simply reseeded per entity
+                DataFaker.reseed(name + "#" + sequence.getAndIncrement());
+                T item = generator.get();
+                producerNanos.add(System.nanoTime() - start);
+                queue.offer(item);
+                depth.incrementAndGet();
+                generated.increment();
+            }
+        } catch (RuntimeException e) {
+            // Consumers keep generating inline and see the error themselves
+            failed = true;
+            logger.error("Test data pool {} stopped refilling", name, e);
+        } finally {
+            refilling.set(false);
+        }
+        // A take may have dropped below the watermark while the flag was still set
+        if (depth.get() < lowWatermark) {
+            refill();
+        }
+    }
+
+}
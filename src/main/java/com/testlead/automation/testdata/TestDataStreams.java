@@ -0,0 +1,61 @@
+package com.testlead.automation.testdata;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy generation of large amounts of test data.
+ *
+ * Entities are created one at a time as the stream is consumed, so memory does not depend on the
+ * count: a million products cost no more heap than ten. Streams from {@link #generate(long, LongFunction)}
+ * are sized and split by index range, so .parallel() hands each worker an even share; entity i is
+ * always built from index i, whichever thread builds it.
+ */
+public class TestDataStreams {
+
+    private TestDataStreams() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Stream of count entities, entity i created by factory.apply(i) on demand
+     */
+    public static <T> Stream<T> generate(long count, LongFunction<T> factory) {
+        return LongStream.range(0, count).mapToObj(factory);
+    }
+
+    /**
+     * Group a stream into lists of at most batchSize elements, e.g. for bulk endpoints; only one
+     * batch is held at a time
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> stream, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        Iterator<T> iterator = stream.sequential().iterator();
+        Spliterator<List<T>> spliterator = new Spliterators.AbstractSpliterator<List<T>>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                action.accept(batch);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(stream::close);
+    }
+}
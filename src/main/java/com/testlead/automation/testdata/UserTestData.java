@@ -3,11 +3,14 @@ package com.testlead.automation.testdata;
 import com.testlead.automation.models.User;
 import com.testlead.automation.utils.DataFaker;
 import com.testlead.automation.utils.DataUtils;
+import com.testlead.automation.utils.JsonPatch;
+import com.testlead.automation.utils.UniqueKeys;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Test data provider for User-related test scenarios
@@ -24,6 +27,9 @@ public class UserTestData {
         initializePredefinedUsers();
     }
     
+    // Valid users generated ahead of time in the background
+    private static final TestDataPool<User> validUsers = TestDataPool.of("users", UserTestData::generateValidUser);
+    
     /**
      * Initialize predefined test users
      */
@@ -110,14 +116,21 @@ public class UserTestData {
     }
     
     /**
-     * Generate a valid user with random data
+     * Get a valid user with random data (pre-generated)
      */
     public static User getValidUser() {
+        return validUsers.take();
+    }
+    
+    /**
+     * Generate a valid user with random data
+     */
+    private static User generateValidUser() {
         return User.builder()
             .firstName(dataFaker.getFirstName())
             .lastName(dataFaker.getLastName())
-            .email(dataFaker.getEmail())
-            .username(dataFaker.getUsername())
+            .email(UniqueKeys.email("user"))
+            .username(UniqueKeys.username("user"))
             .password(dataFaker.getPassword())
             .phone(dataFaker.getPhoneNumber())
             .age(dataFaker.getAge(18, 80))
@@ -162,6 +175,42 @@ public class UserTestData {
             .build();
     }
     
+    /**
+     * Generate invalid user payloads for validation tests, keyed by description.
+     * Only violations the API is known to reject: every required field is removed, nulled and
+     * blanked in turn, the email is malformed and email/age get the wrong JSON type.
+     */
+    public static Map<String, JsonNode> getInvalidUserPayloads() {
+        JsonPatch.Template template = JsonPatch.template(getValidUser());
+        Map<String, JsonNode> payloads = new LinkedHashMap<>(template.fieldMutations(
+            Arrays.asList("firstName", "lastName", "email", "username", "password"),
+            Arrays.asList(null, "")));
+        payloads.putAll(template.fieldMutations(
+            Collections.singletonList("email"),
+            Arrays.asList("invalid-email-format", "user@", "@test.com", "   ", 12345)));
+        payloads.put("age = 'thirty'", template.variant(JsonPatch.create().add("/age", "thirty")));
+        logger.debug("Generated {} invalid user payloads", payloads.size());
+        return payloads;
+    }
+    
+    /**
+     * Generate boundary user payloads, keyed by description: whitespace-only and oversized
+     * name/credential fields and out-of-range ages. The API may accept or reject these.
+     */
+    public static Map<String, JsonNode> getBoundaryUserPayloads() {
+        JsonPatch.Template template = JsonPatch.template(getValidUser());
+        Map<String, JsonNode> payloads = new LinkedHashMap<>();
+        for (String field : Arrays.asList("firstName", "lastName", "username", "password")) {
+            payloads.put(field + " = '   '", template.variant(JsonPatch.create().add("/" + field, "   ")));
+            payloads.put(field + " = 300 chars", template.variant(JsonPatch.create().add("/" + field, "a".repeat(300))));
+        }
+        for (int age : new int[] {-1, 0, 200}) {
+            payloads.put("age = " + age, template.variant(JsonPatch.create().add("/age", age)));
+        }
+        logger.debug("Generated {} boundary user payloads", payloads.size());
+        return payloads;
+    }
+    
     /**
      * Generate a user with weak password
      */
@@ -280,8 +329,8 @@ public class UserTestData {
         for (int i = 1; i <= totalUsers; i++) {
             User user = getValidUser().toBuilder()
                 .id((long) i)
-                .username("user" + i)
-                .email("user" + i + "@testlead.com")
+                .username(UniqueKeys.username("user" + i))
+                .email(UniqueKeys.email("user" + i))
                 .build();
             users.add(user);
         }
@@ -317,24 +366,38 @@ public class UserTestData {
      * Get user data for performance testing
      */
     public static List<User> getUsersForPerformanceTesting(int count) {
-        List<User> users = new ArrayList<>();
+        List<User> users = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            users.add(User.builder()
-                .firstName("PerfTest" + i)
-                .lastName("User" + i)
-                .email("perftest" + i + "@testlead.com")
-                .username("perfuser" + i)
-                .password("PerfPass123!")
-                .phone("+1-555-" + String.format("%07d", i))
-                .age(25 + (i % 50))
-                .address("Address " + i)
-                .isActive(true)
-                .role("USER")
-                .build());
+            users.add(getPerformanceUser(i));
         }
         return users;
     }
     
+    /**
+     * Stream performance test users created on demand; memory use does not depend on count
+     */
+    public static Stream<User> streamUsersForPerformanceTesting(long count) {
+        return TestDataStreams.generate(count, UserTestData::getPerformanceUser);
+    }
+    
+    /**
+     * Performance test user number i; username and email are unique across runs
+     */
+    public static User getPerformanceUser(long i) {
+        return User.builder()
+            .firstName("PerfTest" + i)
+            .lastName("User" + i)
+            .email(UniqueKeys.email("perftest"))
+            .username(UniqueKeys.username("perfuser"))
+            .password("PerfPass123!")
+            .phone("+1-555-" + String.format("%07d", i))
+            .age(25 + (int) (i % 50))
+            .address("Address " + i)
+            .isActive(true)
+            .role("USER")
+            .build();
+    }
+    
     /**
      * Get user registration data with email verification
      */
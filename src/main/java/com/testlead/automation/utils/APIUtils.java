@@ -287,20 +287,13 @@ public class APIUtils {
     }
     
     /**
-     * Mask sensitive data in logs
+     * Mask sensitive data in logs (uses the configured default fields when none are given)
      */
     public static String maskSensitiveData(String data, String... sensitiveFields) {
-        if (data == null || data.isEmpty()) {
-            return data;
-        }
-        
-        String maskedData = data;
-        for (String field : sensitiveFields) {
-            // Simple regex to mask common sensitive fields
-            String pattern = "\"" + field + "\"\\s*:\\s*\"[^\"]*\"";
-            maskedData = maskedData.replaceAll(pattern, "\"" + field + "\":\"***MASKED***\"");
-        }
-        return maskedData;
+        SensitiveDataMasker masker = sensitiveFields.length == 0
+            ? SensitiveDataMasker.getDefault()
+            : SensitiveDataMasker.forFields(sensitiveFields);
+        return masker.mask(data);
     }
     
     /**
@@ -0,0 +1,194 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes exchange records from a bounded, pre-allocated ring buffer on a background thread.
+ * The test thread only enqueues a reference; formatting and log I/O happen on the consumer.
+ *
+ * When the buffer is under pressure the configured policy applies:
+ * BLOCK  - wait for space (nothing lost, test thread may stall)
+ * DROP   - discard the record when the buffer is full
+ * SAMPLE - above 75% fill keep only one record in logging.async.sample.rate, drop when full
+ */
+public class AsyncExchangeLogger {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExchangeLogger.class);
+    // Exchanges keep the category they were always logged under
+    private static final Logger exchangeLog = LoggerFactory.getLogger(RequestResponseLogger.class);
+    
+    public enum OverflowPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+    
+    private static final int BUFFER_SIZE = Math.max(16, ConfigManager.getInt("logging.async.buffer.size", 8192));
+    private static final OverflowPolicy POLICY = parsePolicy(ConfigManager.get("logging.async.overflow.policy", "DROP"));
+    private static volatile int sampleRate = Math.max(1, ConfigManager.getInt("logging.async.sample.rate", 10));
+    private static final int SAMPLE_THRESHOLD = BUFFER_SIZE * 3 / 4;
+    private static final int BATCH_SIZE = 256;
+    
+    private static final BlockingQueue<ExchangeRecord> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    
+    private static final AtomicLong published = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong sampled = new AtomicLong();
+    private static final AtomicLong sampleCounter = new AtomicLong();
+    
+    static {
+        // Sampling rate can be tuned live during soak runs
+        ConfigManager.addListener((previous, current) ->
+            sampleRate = Math.max(1, current.getInt("logging.async.sample.rate", 10)));
+        Thread consumer = new Thread(AsyncExchangeLogger::consume, "exchange-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(5000), "exchange-logger-shutdown"));
+        logger.info("Async exchange logging started - buffer: {}, policy: {}", BUFFER_SIZE, POLICY);
+    }
+    
+    private AsyncExchangeLogger() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * Hand a record to the background writer according to the overflow policy
+     */
+    public static void publish(ExchangeRecord record) {
+        switch (POLICY) {
+            case BLOCK:
+                try {
+                    buffer.put(record);
+                    published.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+                return;
+            case SAMPLE:
+                if (buffer.size() >= SAMPLE_THRESHOLD && sampleCounter.incrementAndGet() % sampleRate != 0) {
+                    sampled.incrementAndGet();
+                    return;
+                }
+                offer(record);
+                return;
+            default:
+                offer(record);
+        }
+    }
+    
+    private static void offer(ExchangeRecord record) {
+        if (buffer.offer(record)) {
+            published.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Wait until every published record has been written, or the timeout expires
+     */
+    public static boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (written.get() < published.get()) {
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Exchange log flush timed out with {} records pending", published.get() - written.get());
+                return false;
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void consume() {
+        List<ExchangeRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                for (ExchangeRecord record : batch) {
+                    write(record);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                written.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+    
+    private static void write(ExchangeRecord record) {
+        try {
+            exchangeLog.info(record.toLogMessage());
+        } catch (RuntimeException e) {
+            // Never let one bad record stop the writer thread
+            logger.warn("Failed to write exchange record: {}", e.getMessage());
+        }
+    }
+    
+    private static OverflowPolicy parsePolicy(String value) {
+        try {
+            return OverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown logging.async.overflow.policy '{}', using DROP", value);
+            return OverflowPolicy.DROP;
+        }
+    }
+    
+    /**
+     * Records accepted into the buffer
+     */
+    public static long getPublishedCount() {
+        return published.get();
+    }
+    
+    /**
+     * Records written by the background thread
+     */
+    public static long getWrittenCount() {
+        return written.get();
+    }
+    
+    /**
+     * Records discarded because the buffer was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Records skipped by the SAMPLE policy
+     */
+    public static long getSampledCount() {
+        return sampled.get();
+    }
+    
+    /**
+     * Current number of records waiting to be written
+     */
+    public static int getPendingCount() {
+        return buffer.size();
+    }
+    
+    /**
+     * Log buffer statistics
+     */
+    public static void logStatistics() {
+        logger.info("Async exchange logging - published: {}, written: {}, dropped: {}, sampled out: {}, pending: {}",
+            published.get(), written.get(), dropped.get(), sampled.get(), buffer.size());
+    }
+}
@@ -0,0 +1,279 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store for large report attachments (response bodies, exchange dumps).
+ *
+ * Each distinct content is written once, gzip-compressed, as
+ * attachments.directory/&lt;first 2 hash chars&gt;/&lt;sha-256&gt;.&lt;ext&gt;.gz; Allure and Extent
+ * then only carry a short reference with a preview. Attaching the same catalog response in
+ * dozens of tests therefore costs one compressed blob. Content up to attachments.inline.max.bytes
+ * is still attached inline. Read a blob with zcat or {@link #read(String)}.
+ *
+ * Disable with attachments.store.enabled=false.
+ */
+public class AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStore.class);
+
+    private static final boolean ENABLED = ConfigManager.getBoolean("attachments.store.enabled", true);
+    private static final int INLINE_MAX_BYTES = ConfigManager.getInt("attachments.inline.max.bytes", 16 * 1024);
+    private static final int PREVIEW_CHARS = ConfigManager.getInt("attachments.preview.chars", 2000);
+    private static final Path DIRECTORY = Paths.get(ConfigManager.get("attachments.directory", "reports/attachments"));
+
+    private static final Map<String, FutureTask<Blob>> blobs = new ConcurrentHashMap<>();
+    private static final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(AttachmentStore::newDigest);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final LongAdder attachments = new LongAdder();
+    private static final LongAdder duplicates = new LongAdder();
+    private static final LongAdder bytesIn = new LongAdder();
+    private static final LongAdder bytesStored = new LongAdder();
+
+    private AttachmentStore() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * True when content of this size is stored as a blob instead of being attached inline
+     */
+    public static boolean shouldStore(int bytes) {
+        return ENABLED && bytes > INLINE_MAX_BYTES;
+    }
+
+    /**
+     * Store content once under its hash
+     *
+     * @param extension file extension without dot (json, txt...)
+     */
+    public static Blob store(byte[] content, String extension) {
+        String hash = hash(content);
+        attachments.increment();
+        bytesIn.add(content.length);
+        FutureTask<Blob> task = blobs.get(hash);
+        if (task == null) {
+            // The thread that registers the task writes the blob, outside the map, so compression and
+            // file I/O never hold a map lock; threads with the same content wait for that one task
+            FutureTask<Blob> created = new FutureTask<>(() -> write(hash, content, extension));
+            task = blobs.putIfAbsent(hash, created);
+            if (task == null) {
+                created.run();
+                return blob(hash, created);
+            }
+        }
+        duplicates.increment();
+        return blob(hash, task);
+    }
+
+    /**
+     * Text for an attachment: the content itself when small, otherwise a reference to its blob
+     * followed by a preview
+     */
+    public static String attachmentText(String content, String extension) {
+        if (content == null) {
+            return null;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (!shouldStore(bytes.length)) {
+            return content;
+        }
+        Blob blob = store(bytes, extension);
+        return "Stored as " + blob.getPath() + " (sha-256 " + blob.getHash() + ", " + blob.getSize() + " bytes, "
+            + blob.getStoredSize() + " compressed)\n\n" + preview(content);
+    }
+
+    /**
+     * Bytes for an attachment; see {@link #attachmentText(String, String)}
+     */
+    public static byte[] attachmentBytes(String content, String extension) {
+        String text = attachmentText(content, extension);
+        return text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Body for the HTML report: escaped preview with a link to the blob, relative to the reports
+     * directory, or the content itself when small
+     */
+    public static String html(String content, String extension) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (!shouldStore(bytes.length)) {
+            return "<pre>" + content + "</pre>";
+        }
+        Blob blob = store(bytes, extension);
+        Path link = Paths.get(ReportUtils.getReportsPath()).toAbsolutePath().relativize(blob.getPath().toAbsolutePath());
+        return "<p><a href=\"" + link.toString().replace('\\', '/') + "\">" + blob.getSize() + " bytes, stored as "
+            + blob.getHash().substring(0, 12) + " (gzip)</a></p><pre>" + escape(preview(content)) + "</pre>";
+    }
+
+    /**
+     * Decompressed content of a stored blob
+     */
+    public static byte[] read(String hash) throws IOException {
+        FutureTask<Blob> task = blobs.get(hash);
+        Path path = task != null ? blob(hash, task).getPath() : find(hash);
+        if (path == null) {
+            throw new IOException("No attachment blob " + hash + " in " + DIRECTORY);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Log how much the store saved
+     */
+    public static void logStatistics() {
+        if (attachments.sum() == 0) {
+            return;
+        }
+        logger.info("Attachment store - attachments: {}, blobs: {}, duplicates: {}, bytes in: {}, bytes stored: {}",
+            attachments.sum(), blobs.size(), duplicates.sum(), bytesIn.sum(), bytesStored.sum());
+    }
+
+    // =============== BLOBS ===============
+
+    private static Blob blob(String hash, FutureTask<Blob> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            // Forget the failed write so the next attachment of this content tries again
+            blobs.remove(hash, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to store attachment blob " + hash, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while storing attachment blob " + hash, e);
+        }
+    }
+
+    private static Blob write(String hash, byte[] content, String extension) {
+        Path path = DIRECTORY.resolve(hash.substring(0, 2)).resolve(hash + "." + extension + ".gz");
+        try {
+            if (!Files.exists(path)) {
+                // Temp file and atomic move: other JVMs may share the directory
+                Files.createDirectories(path.getParent());
+                Path temp = Files.createTempFile(path.getParent(), hash, ".tmp");
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                    out.write(content);
+                }
+                try {
+                    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+            long stored = Files.size(path);
+            bytesStored.add(stored);
+            return new Blob(hash, path, content.length, stored);
+        } catch (IOException e) {
+            logger.error("Failed to store attachment blob {}", path, e);
+            throw new RuntimeException("Failed to store attachment blob: " + path, e);
+        }
+    }
+
+    private static Path find(String hash) throws IOException {
+        Path directory = DIRECTORY.resolve(hash.substring(0, 2));
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(hash + "."))
+                .findFirst().orElse(null);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        MessageDigest digest = digests.get();
+        digest.reset();
+        byte[] bytes = digest.digest(content);
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String preview(String content) {
+        return content.length() <= PREVIEW_CHARS
+            ? content
+            : content.substring(0, PREVIEW_CHARS) + "\n... (" + (content.length() - PREVIEW_CHARS) + " more characters)";
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * One stored content
+     */
+    public static class Blob {
+        private final String hash;
+        private final Path path;
+        private final long size;
+        private final long storedSize;
+
+        Blob(String hash, Path path, long size, long storedSize) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+            this.storedSize = storedSize;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getStoredSize() {
+            return storedSize;
+        }
+    }
+}
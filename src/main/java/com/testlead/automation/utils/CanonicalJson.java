@@ -0,0 +1,147 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Canonical form and content hash of JSON documents.
+ * Object keys are sorted, ignored fields are dropped at any depth and numbers are
+ * normalized (19.99 == 19.990), so two responses hash equally when they only differ
+ * in key order, formatting or volatile fields.
+ */
+public class CanonicalJson {
+    
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    // Type tags keep e.g. the string "1" and the number 1 from hashing the same
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_TRUE = 1;
+    private static final byte TAG_FALSE = 2;
+    private static final byte TAG_NUMBER = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_ARRAY = 5;
+    private static final byte TAG_OBJECT = 6;
+    private static final byte TAG_END = 7;
+    
+    private CanonicalJson() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * SHA-256 of the canonical form, hex encoded. The document is hashed while it is
+     * walked, so no canonical copy or string is built.
+     */
+    public static String hash(JsonNode node, Set<String> ignoredFields) {
+        MessageDigest digest = newDigest();
+        update(digest, node, ignoredFields);
+        return toHex(digest.digest());
+    }
+    
+    /**
+     * Canonical copy of the document, used when a snapshot has to be stored or diffed
+     */
+    public static JsonNode canonicalize(JsonNode node, Set<String> ignoredFields) {
+        if (node == null || node.isNull()) {
+            return nodeFactory.nullNode();
+        }
+        if (node.isObject()) {
+            ObjectNode result = nodeFactory.objectNode();
+            for (String field : sortedFieldNames(node, ignoredFields)) {
+                result.set(field, canonicalize(node.get(field), ignoredFields));
+            }
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = nodeFactory.arrayNode(node.size());
+            for (JsonNode element : node) {
+                result.add(canonicalize(element, ignoredFields));
+            }
+            return result;
+        }
+        if (node.isNumber()) {
+            return nodeFactory.numberNode(normalize(node.decimalValue()));
+        }
+        return node.deepCopy();
+    }
+    
+    private static void update(MessageDigest digest, JsonNode node, Set<String> ignoredFields) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            digest.update(TAG_NULL);
+        } else if (node.isObject()) {
+            digest.update(TAG_OBJECT);
+            for (String field : sortedFieldNames(node, ignoredFields)) {
+                updateString(digest, field);
+                update(digest, node.get(field), ignoredFields);
+            }
+            digest.update(TAG_END);
+        } else if (node.isArray()) {
+            digest.update(TAG_ARRAY);
+            for (JsonNode element : node) {
+                update(digest, element, ignoredFields);
+            }
+            digest.update(TAG_END);
+        } else if (node.isBoolean()) {
+            digest.update(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+        } else if (node.isNumber()) {
+            digest.update(TAG_NUMBER);
+            updateString(digest, normalize(node.decimalValue()).toPlainString());
+        } else {
+            digest.update(TAG_STRING);
+            updateString(digest, node.asText());
+        }
+    }
+    
+    private static void updateString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Length prefix so adjacent strings cannot run into each other
+        int length = bytes.length;
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+        digest.update(bytes);
+    }
+    
+    private static List<String> sortedFieldNames(JsonNode node, Set<String> ignoredFields) {
+        List<String> fields = new ArrayList<>(node.size());
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!ignoredFields.contains(name)) {
+                fields.add(name);
+            }
+        }
+        Collections.sort(fields);
+        return fields;
+    }
+    
+    private static BigDecimal normalize(BigDecimal value) {
+        return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -1,133 +1,256 @@
 package com.testlead.automation.utils;
 
+import com.testlead.automation.config.ConfigManager;
 import net.datafaker.Faker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Utility class for generating fake test data using DataFaker library
+ *
+ * Every thread has its own Faker and Random per locale, so parallel tests neither contend on one
+ * generator nor disturb each other's sequence. All generators derive from one run seed
+ * (testdata.seed, random and logged when not set): at the start of every test the listener reseeds
+ * the thread from the run seed and the test's name, so a test gets the same data whichever thread
+ * runs it. A locale's generator picks the new seed up on its next use, so a locale first used
+ * halfway through a test is covered as well. Replay a failing run with -Dtestdata.seed=&lt;logged seed&gt;.
+ * Instances are cached per locale.
  */
 public class DataFaker {
     
     private static final Logger logger = LoggerFactory.getLogger(DataFaker.class);
-    private static DataFaker instance;
-    private final Faker faker;
-    private final Random random;
-    private final Locale locale; // Add locale field to track it
+    private static final long RUN_SEED = runSeed();
+    private static final AtomicLong threadSequence = new AtomicLong();
+    // Threads that were not reseeded for a test still get distinct, reproducible sequences
+    private static final ThreadLocal<Seed> currentSeed = ThreadLocal.withInitial(() ->
+        new Seed(mix(RUN_SEED, threadSequence.incrementAndGet(), null), false));
+    private static final Map<Locale, DataFaker> instances = new ConcurrentHashMap<>();
+    private static final DataFaker DEFAULT = getInstance(Locale.getDefault());
     
-    private DataFaker() {
-        this.locale = Locale.getDefault();
-        this.faker = new Faker();
-        this.random = new Random();
+    private final Locale locale;
+    private final ThreadLocal<Generator> generators = new ThreadLocal<>();
+    
+    private DataFaker(Locale locale) {
+        this.locale = locale;
     }
     
     /**
-     * Get singleton instance
+     * Get instance for the default locale
      */
     public static DataFaker getInstance() {
-        if (instance == null) {
-            synchronized (DataFaker.class) {
-                if (instance == null) {
-                    instance = new DataFaker();
-                }
-            }
-        }
-        return instance;
+        return DEFAULT;
     }
     
     /**
-     * Get DataFaker instance with specific locale
+     * Get DataFaker instance with specific locale (cached)
      */
     public static DataFaker getInstance(Locale locale) {
-        return new DataFaker(locale);
+        return instances.computeIfAbsent(locale, DataFaker::new);
     }
     
-    private DataFaker(Locale locale) {
-        this.locale = locale;
-        this.faker = new Faker(locale);
-        this.random = new Random();
+    /**
+     * Seed of this run; the same seed reproduces the same data
+     */
+    public static long getRunSeed() {
+        return RUN_SEED;
+    }
+    
+    /**
+     * Reseed the calling thread's generators of every locale from the run seed and a stable key
+     * (e.g. the test's qualified name), independent of which thread runs it
+     */
+    public static void reseed(String key) {
+        currentSeed.set(new Seed(mix(RUN_SEED, key.hashCode(), null), false));
+    }
+    
+    /**
+     * Run the supplier with generators seeded from the run seed and the key, then give the calling
+     * thread its own generators back where they were. Used for data generated on a test's thread
+     * that must not shift the test's sequence.
+     */
+    public static <T> T withSeed(String key, Supplier<T> supplier) {
+        Seed previous = currentSeed.get();
+        currentSeed.set(new Seed(mix(RUN_SEED, key.hashCode(), null), true));
+        try {
+            return supplier.get();
+        } finally {
+            currentSeed.set(previous);
+        }
+    }
+    
+    private static long runSeed() {
+        String configured = ConfigManager.get("testdata.seed", null);
+        long seed;
+        try {
+            seed = configured != null ? Long.parseLong(configured.trim()) : mix(System.nanoTime(), System.currentTimeMillis(), null);
+        } catch (NumberFormatException e) {
+            // Any text works as a seed
+            seed = mix(configured.hashCode(), 0, null);
+        }
+        logger.info("Test data seed: {} (replay with -Dtestdata.seed={})", seed, seed);
+        return seed;
+    }
+    
+    /**
+     * SplitMix64 finalizer over the inputs: well-spread, independent seeds from related inputs
+     */
+    private static long mix(long seed, long stream, Locale locale) {
+        long z = seed + 0x9E3779B97F4A7C15L * (stream + 1) + (locale == null ? 0 : locale.hashCode());
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    private Faker faker() {
+        return generator().faker;
+    }
+    
+    private Random random() {
+        return generator().random;
+    }
+    
+    /**
+     * This thread's generator for the locale, reseeded first if the thread's seed changed since its last use
+     */
+    private Generator generator() {
+        Seed seed = currentSeed.get();
+        if (seed.isolated != null) {
+            return seed.isolated.computeIfAbsent(locale, key -> new Generator(key, seed));
+        }
+        Generator generator = generators.get();
+        if (generator == null) {
+            generator = new Generator(locale, seed);
+            generators.set(generator);
+        } else if (generator.seed != seed) {
+            generator.reseed(seed);
+        }
+        return generator;
+    }
+    
+    private int nextInt(int min, int max) {
+        return min + random().nextInt(max - min + 1);
+    }
+    
+    /**
+     * Seed a thread currently generates from. Isolated seeds have generators of their own, so the
+     * thread's generators are left untouched.
+     */
+    private static final class Seed {
+        private final long value;
+        private final Map<Locale, Generator> isolated;
+        
+        Seed(long value, boolean isolated) {
+            this.value = value;
+            this.isolated = isolated ? new HashMap<>() : null;
+        }
+    }
+    
+    /**
+     * Faker and Random of one thread and locale; the Faker draws from the Random
+     */
+    private static final class Generator {
+        private final Locale locale;
+        private final Random random;
+        private final Faker faker;
+        private Seed seed;
+        
+        Generator(Locale locale, Seed seed) {
+            this.locale = locale;
+            this.random = new Random(mix(seed.value, 0, locale));
+            this.faker = new Faker(locale, random);
+            this.seed = seed;
+        }
+        
+        void reseed(Seed seed) {
+            random.setSeed(mix(seed.value, 0, locale));
+            this.seed = seed;
+        }
     }
     
     // Personal Information Methods
     public String getFirstName() {
-        return faker.name().firstName();
+        return faker().name().firstName();
     }
     
     public String getLastName() {
-        return faker.name().lastName();
+        return faker().name().lastName();
     }
     
     public String getFullName() {
-        return faker.name().fullName();
+        return faker().name().fullName();
     }
     
     public String getUsername() {
-        return faker.name().username();
+        return faker().name().username();
     }
     
     public String getEmail() {
-        return faker.internet().emailAddress();
+        return faker().internet().emailAddress();
     }
     
     public String getEmail(String domain) {
-        return faker.internet().emailAddress(domain);
+        return faker().internet().emailAddress(domain);
     }
     
     public String getPassword() {
-        return faker.internet().password(8, 16, true, true, true);
+        return faker().internet().password(8, 16, true, true, true);
     }
     
     public String getPassword(int minLength, int maxLength) {
-        return faker.internet().password(minLength, maxLength, true, true, true);
+        return faker().internet().password(minLength, maxLength, true, true, true);
     }
     
     public String getStrongPassword() {
-        return faker.internet().password(12, 20, true, true, true);
+        return faker().internet().password(12, 20, true, true, true);
     }
     
     // Phone and Contact Information
     public String getPhoneNumber() {
-        return faker.phoneNumber().phoneNumber();
+        return faker().phoneNumber().phoneNumber();
     }
     
     public String getCellPhone() {
-        return faker.phoneNumber().cellPhone();
+        return faker().phoneNumber().cellPhone();
     }
     
     // Address Information
     public String getAddress() {
-        return faker.address().fullAddress();
+        return faker().address().fullAddress();
     }
     
     public String getStreetAddress() {
-        return faker.address().streetAddress();
+        return faker().address().streetAddress();
     }
     
     public String getCity() {
-        return faker.address().city();
+        return faker().address().city();
     }
     
     public String getState() {
-        return faker.address().state();
+        return faker().address().state();
     }
     
     public String getZipCode() {
-        return faker.address().zipCode();
+        return faker().address().zipCode();
     }
     
     public String getCountry() {
-        return faker.address().country();
+        return faker().address().country();
     }
     
     // Age and Date Methods (Custom implementations)
     public int getAge(int min, int max) {
-        return ThreadLocalRandom.current().nextInt(min, max + 1);
+        return nextInt(min, max);
     }
     
     public int getAge() {
@@ -135,72 +258,72 @@ public class DataFaker {
     }
     
     public boolean getBoolean() {
-        return random.nextBoolean();
+        return random().nextBoolean();
     }
     
     public String getText(int minWords, int maxWords) {
-        int wordCount = ThreadLocalRandom.current().nextInt(minWords, maxWords + 1);
-        return faker.lorem().sentence(wordCount);
+        int wordCount = nextInt(minWords, maxWords);
+        return faker().lorem().sentence(wordCount);
     }
     
     public String getText(int characterCount) {
-        return faker.lorem().characters(characterCount);
+        return faker().lorem().characters(characterCount);
     }
     
     public String getParagraph() {
-        return faker.lorem().paragraph();
+        return faker().lorem().paragraph();
     }
     
     public String getSentence() {
-        return faker.lorem().sentence();
+        return faker().lorem().sentence();
     }
     
     // Business Information
     public String getCompanyName() {
-        return faker.company().name();
+        return faker().company().name();
     }
     
     public String getJobTitle() {
-        return faker.job().title();
+        return faker().job().title();
     }
     
     public String getDepartment() {
-        return faker.job().field();
+        return faker().job().field();
     }
     
     // Internet and Technology
     public String getUrl() {
-        return faker.internet().url();
+        return faker().internet().url();
     }
     
     public String getDomainName() {
-        return faker.internet().domainName();
+        return faker().internet().domainName();
     }
     
     public String getIpAddress() {
-        return faker.internet().ipV4Address();
+        return faker().internet().ipV4Address();
     }
     
     public String getMacAddress() {
-        return faker.internet().macAddress();
+        return faker().internet().macAddress();
     }
     
     // Financial Information
     public String getCreditCardNumber() {
-        return faker.finance().creditCard();
+        return faker().finance().creditCard();
     }
     
     public String getIban() {
-        return faker.finance().iban();
+        return faker().finance().iban();
     }
     
     public String getBic() {
-        return faker.finance().bic();
+        return faker().finance().bic();
     }
     
     // Numbers and Measurements
     public int getRandomInt(int min, int max) {
-        return ThreadLocalRandom.current().nextInt(min, max + 1);
+        return nextInt(min, max);
     }
     
     public int getRandomNumber(int min, int max) {
@@ -208,33 +331,34 @@ public class DataFaker {
     }
     
     public long getRandomLong(long min, long max) {
-        return ThreadLocalRandom.current().nextLong(min, max + 1);
+        long bound = max - min + 1;
+        return bound > 0 ? min + Math.floorMod(random().nextLong(), bound) : random().nextLong();
     }
     
     public double getRandomDouble(double min, double max) {
-        return ThreadLocalRandom.current().nextDouble(min, max);
+        return min + random().nextDouble() * (max - min);
     }
     
     public String getRandomString(int length) {
-        return faker.lorem().characters(length);
+        return faker().lorem().characters(length);
     }
     
     public String getRandomAlphanumeric(int length) {
         String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
         StringBuilder result = new StringBuilder();
         for (int i = 0; i < length; i++) {
-            result.append(characters.charAt(random.nextInt(characters.length())));
+            result.append(characters.charAt(random().nextInt(characters.length())));
         }
         return result.toString();
     }
     
     // Product Information
     public String getProductName() {
-        return faker.commerce().productName();
+        return faker().commerce().productName();
     }
     
     public String getDescription() {
-        return faker.lorem().paragraph(2); // Generate a 2-paragraph description
+        return faker().lorem().paragraph(2); // Generate a 2-paragraph description
     }
     
     public String getProductDescription() {
@@ -242,19 +366,19 @@ public class DataFaker {
     }
     
     public String getShortDescription() {
-        return faker.lorem().sentence(10); // Short 10-word description
+        return faker().lorem().sentence(10); // Short 10-word description
     }
     
     public String getBrand() {
-        return faker.commerce().brand();
+        return faker().commerce().brand();
     }
     
     public String getColor() {
-        return faker.color().name();
+        return faker().color().name();
     }
     
     public String getPrice() {
-        return faker.commerce().price();
+        return faker().commerce().price();
     }
     
     public String getCategory() {
@@ -267,7 +391,7 @@ public class DataFaker {
     }
     
     public String getSku() {
-        return "SKU-" + getRandomAlphanumeric(8).toUpperCase();
+        return UniqueKeys.sku();
     }
     
     public String getProductCode() {
@@ -307,19 +431,19 @@ public class DataFaker {
         if (list == null || list.isEmpty()) {
             return null;
         }
-        return list.get(random.nextInt(list.size()));
+        return list.get(random().nextInt(list.size()));
     }
     
     public <T> T getRandomFromArray(T[] array) {
         if (array == null || array.length == 0) {
             return null;
         }
-        return array[random.nextInt(array.length)];
+        return array[random().nextInt(array.length)];
     }
     
     // UUID and IDs
     public String getUuid() {
-        return faker.internet().uuid();
+        return faker().internet().uuid();
     }
     
     public String getRandomId() {
@@ -350,7 +474,7 @@ public class DataFaker {
     }
     
     public String getLongString(int length) {
-        return faker.lorem().characters(length);
+        return faker().lorem().characters(length);
     }
     
     // Validation Helpers
@@ -400,22 +524,31 @@ public class DataFaker {
     
     public String getJsonWebToken() {
         String header = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9";
-        String payload = faker.internet().uuid().replace("-", "");
-        String signature = faker.internet().uuid().replace("-", "");
+        String payload = faker().internet().uuid().replace("-", "");
+        String signature = faker().internet().uuid().replace("-", "");
         return header + "." + payload + "." + signature;
     }
     
     // Utility Methods
+    /**
+     * Reseed the calling thread's generator of this locale
+     */
     public void setSeed(long seed) {
-        random.setSeed(seed);
+        random().setSeed(seed);
     }
     
+    /**
+     * Faker of the calling thread
+     */
     public Faker getFaker() {
-        return faker;
+        return faker();
     }
     
+    /**
+     * Random of the calling thread
+     */
     public Random getRandom() {
-        return random;
+        return random();
     }
     
     public Locale getLocale() {
@@ -424,6 +557,6 @@ public class DataFaker {
     
     // Log current instance info
     public void logInstanceInfo() {
-        logger.info("DataFaker instance created with locale: {}", locale);
+        logger.info("DataFaker instance with locale: {}, run seed: {}", locale, RUN_SEED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.testlead.automation.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the latency of every exchange in a {@link LatencyHistogram} per endpoint
+ * ("GET /products/{id}"), for the report shard of this JVM, and adds it to the calling
+ * thread's request time in {@link TestTimings}.
+ *
+ * Clients bound to another environment record into their own histograms instead, so
+ * environments compared side by side never mix.
+ */
+public class EndpointLatencyFilter implements Filter {
+
+    private static final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LatencyHistogram> target;
+
+    public EndpointLatencyFilter() {
+        this(histograms);
+    }
+
+    /**
+     * Record into the given histograms instead of this JVM's shared ones
+     */
+    public EndpointLatencyFilter(ConcurrentMap<String, LatencyHistogram> target) {
+        this.target = target;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                          FilterableResponseSpecification responseSpec,
+                          FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long durationNanos = System.nanoTime() - start;
+        TestTimings.addRequestNanos(durationNanos);
+
+        target.computeIfAbsent(requestSpec.getMethod() + " " + endpoint(requestSpec), k -> new LatencyHistogram())
+            .record(durationNanos / 1000);
+        return response;
+    }
+
+    /**
+     * Histograms recorded so far, sorted by endpoint
+     */
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    private static String endpoint(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        return path != null && !path.isEmpty() ? path : requestSpec.getDerivedPath();
+    }
+}
@@ -0,0 +1,216 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testlead.automation.base.ClientContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs the same scenario against several environments at the same time in this JVM and compares
+ * their latency per endpoint.
+ *
+ * Each environment gets its own {@link ClientContext}; the scenario builds its clients from the
+ * context it is given. All environments start together and run concurrently, so they share warm
+ * JIT code, test data and the same time window instead of needing one JVM run each.
+ *
+ * <pre>
+ * EnvironmentComparison comparison = new EnvironmentComparison("catalog", "qa", "dev")
+ *     .run(200, 4, context -&gt; new ProductApiClient(context).getAllProducts());
+ * logger.info(comparison.summary());
+ * comparison.write(Paths.get("reports/comparison"));
+ * </pre>
+ */
+public class EnvironmentComparison {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentComparison.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String name;
+    private final Map<String, ClientContext> contexts = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+
+    /**
+     * @param environments environments to compare; the first one is the baseline
+     */
+    public EnvironmentComparison(String name, String... environments) {
+        if (environments.length < 2) {
+            throw new IllegalArgumentException("At least two environments are needed for a comparison");
+        }
+        this.name = name;
+        for (String environment : environments) {
+            contexts.put(environment, ClientContext.forEnvironment(environment));
+            errors.put(environment, new AtomicLong());
+        }
+    }
+
+    /**
+     * Run the scenario the given number of times per environment, on the given number of threads
+     * per environment; a scenario that throws counts as an error and the run continues
+     */
+    public EnvironmentComparison run(int iterations, int threadsPerEnvironment, Consumer<ClientContext> scenario) {
+        int threads = Math.max(1, threadsPerEnvironment);
+        ExecutorService executor = Executors.newFixedThreadPool(threads * contexts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (Map.Entry<String, ClientContext> entry : contexts.entrySet()) {
+                AtomicLong remaining = new AtomicLong(iterations);
+                AtomicLong failed = errors.get(entry.getKey());
+                for (int t = 0; t < threads; t++) {
+                    executor.execute(() -> {
+                        awaitStart(start);
+                        while (remaining.getAndDecrement() > 0) {
+                            try {
+                                scenario.accept(entry.getValue());
+                            } catch (RuntimeException | AssertionError e) {
+                                failed.incrementAndGet();
+                                logger.debug("Scenario failed in {}: {}", entry.getKey(), e.getMessage());
+                            }
+                        }
+                    });
+                }
+            }
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        return this;
+    }
+
+    /**
+     * Run the scenario on one thread per environment
+     */
+    public EnvironmentComparison run(int iterations, Consumer<ClientContext> scenario) {
+        return run(iterations, 1, scenario);
+    }
+
+    public ClientContext getContext(String environment) {
+        return contexts.get(environment);
+    }
+
+    /**
+     * Side-by-side table: p50/p95/p99 in ms per endpoint and environment, and the p95 change
+     * of every environment against the baseline
+     */
+    public String summary() {
+        List<String> environments = new ArrayList<>(contexts.keySet());
+        String baseline = environments.get(0);
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nEnvironment comparison %s (baseline %s)", name, baseline));
+        table.append(String.format("%n%-40s", "endpoint"));
+        for (String environment : environments) {
+            table.append(String.format(" | %-28s", environment + " n/p50/p95/p99"));
+        }
+        table.append(" | p95 vs baseline");
+        for (String endpoint : endpoints()) {
+            LatencyHistogram base = contexts.get(baseline).getLatencies().get(endpoint);
+            table.append(String.format("%n%-40s", endpoint.length() > 40 ? endpoint.substring(0, 37) + "..." : endpoint));
+            for (String environment : environments) {
+                LatencyHistogram histogram = contexts.get(environment).getLatencies().get(endpoint);
+                table.append(histogram == null ? String.format(" | %-28s", "-")
+                    : String.format(" | %6d %6.1f %6.1f %6.1f", histogram.getCount(), millis(histogram.percentile(50)),
+                        millis(histogram.percentile(95)), millis(histogram.percentile(99))));
+            }
+            for (String environment : environments.subList(1, environments.size())) {
+                LatencyHistogram histogram = contexts.get(environment).getLatencies().get(endpoint);
+                table.append(" | ").append(environment).append(' ').append(change(base, histogram));
+            }
+        }
+        for (String environment : environments) {
+            long failed = errors.get(environment).get();
+            if (failed > 0) {
+                table.append(String.format("%n%s: %d failed scenario runs", environment, failed));
+            }
+        }
+        return table.toString();
+    }
+
+    /**
+     * Write the comparison with the full histograms to &lt;directory&gt;/&lt;name&gt;.json
+     */
+    public Path write(Path directory) {
+        Path file = directory.resolve(name + ".json");
+        try {
+            Files.createDirectories(directory);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+                generator.useDefaultPrettyPrinter();
+                generator.writeStartObject();
+                generator.writeStringField("name", name);
+                generator.writeStringField("baseline", contexts.keySet().iterator().next());
+                generator.writeArrayFieldStart("environments");
+                for (Map.Entry<String, ClientContext> entry : contexts.entrySet()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("environment", entry.getKey());
+                    generator.writeStringField("baseUrl", entry.getValue().getBaseUrl());
+                    generator.writeNumberField("errors", errors.get(entry.getKey()).get());
+                    generator.writeObjectFieldStart("endpoints");
+                    for (Map.Entry<String, LatencyHistogram> endpoint : entry.getValue().getLatencies().entrySet()) {
+                        LatencyHistogram histogram = endpoint.getValue();
+                        generator.writeObjectFieldStart(endpoint.getKey());
+                        generator.writeNumberField("p50", histogram.percentile(50));
+                        generator.writeNumberField("p95", histogram.percentile(95));
+                        generator.writeNumberField("p99", histogram.percentile(99));
+                        generator.writeFieldName("histogram");
+                        histogram.write(generator);
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndObject();
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            logger.info("Environment comparison {} written to {}", name, file);
+            return file;
+        } catch (IOException e) {
+            logger.error("Failed to write environment comparison {}", file, e);
+            throw new RuntimeException("Failed to write environment comparison: " + file, e);
+        }
+    }
+
+    private TreeSet<String> endpoints() {
+        TreeSet<String> endpoints = new TreeSet<>();
+        for (ClientContext context : contexts.values()) {
+            endpoints.addAll(context.getLatencies().keySet());
+        }
+        return endpoints;
+    }
+
+    private static String change(LatencyHistogram base, LatencyHistogram other) {
+        if (base == null || other == null || base.percentile(95) == 0) {
+            return "-";
+        }
+        return String.format("%+.0f%%", 100.0 * (other.percentile(95) - base.percentile(95)) / base.percentile(95));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
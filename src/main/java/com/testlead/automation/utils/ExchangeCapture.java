@@ -0,0 +1,117 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the last N exchanges of the test running on the current thread, and the test's name
+ * so exchange logs can be attributed to it.
+ * With logging.failure.only=true the logging filter only records into this buffer and
+ * the test listener writes the buffer out when a test fails or is skipped; passing tests
+ * just drop it, so they cost no formatting or log I/O.
+ *
+ * Usage (from a listener):
+ * <pre>
+ * ExchangeCapture.begin(testName);                      // test started
+ * ExchangeCapture.discard();                            // test passed
+ * List&lt;ExchangeRecord&gt; records = ExchangeCapture.end(); // test failed or skipped
+ * </pre>
+ */
+public class ExchangeCapture {
+    
+    private static final boolean FAILURE_ONLY = ConfigManager.getBoolean("logging.failure.only", false);
+    private static final int BUFFER_SIZE = Math.max(1, ConfigManager.getInt("logging.failure.buffer.size", 20));
+    
+    // Null while no test is running on the thread, so exchanges from setup code are not kept
+    private static final ThreadLocal<ArrayDeque<ExchangeRecord>> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentTestName = new ThreadLocal<>();
+    
+    private ExchangeCapture() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * True when exchanges should only be written for failed or skipped tests
+     */
+    public static boolean isFailureOnly() {
+        return FAILURE_ONLY;
+    }
+    
+    /**
+     * Name of the test running on this thread, or null outside a test
+     */
+    public static String currentTestName() {
+        return currentTestName.get();
+    }
+    
+    /**
+     * Start an empty buffer for the test running on this thread
+     */
+    public static void begin(String testName) {
+        currentTestName.set(testName);
+        if (!FAILURE_ONLY) {
+            return;
+        }
+        ArrayDeque<ExchangeRecord> buffer = currentTest.get();
+        if (buffer == null) {
+            currentTest.set(new ArrayDeque<>(BUFFER_SIZE));
+        } else {
+            buffer.clear();
+        }
+    }
+    
+    /**
+     * Remember an exchange for the current test, evicting the oldest one when full
+     */
+    public static void record(ExchangeRecord record) {
+        ArrayDeque<ExchangeRecord> buffer = currentTest.get();
+        if (buffer == null) {
+            return;
+        }
+        if (buffer.size() >= BUFFER_SIZE) {
+            buffer.pollFirst();
+        }
+        buffer.addLast(record);
+    }
+    
+    /**
+     * Return the captured exchanges (oldest first) and stop capturing on this thread
+     */
+    public static List<ExchangeRecord> end() {
+        ArrayDeque<ExchangeRecord> buffer = currentTest.get();
+        currentTest.remove();
+        currentTestName.remove();
+        if (buffer == null || buffer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(buffer);
+    }
+    
+    /**
+     * Drop the captured exchanges without writing them
+     */
+    public static void discard() {
+        currentTest.remove();
+        currentTestName.remove();
+    }
+    
+    /**
+     * All captured exchanges as one text block, for logs and report attachments
+     */
+    public static String format(List<ExchangeRecord> records) {
+        StringBuilder text = new StringBuilder(records.size() * 1024);
+        for (int i = 0; i < records.size(); i++) {
+            ExchangeRecord record = records.get(i);
+            text.append("--- Exchange ").append(i + 1).append(" of ").append(records.size())
+                .append(" [").append(record.getThreadName()).append("] ")
+                .append(new Date(record.getTimestamp())).append(" ---\n");
+            text.append(record.format()).append("\n\n");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,429 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Append-only binary journal of request/response exchanges for load and soak runs.
+ * Every exchange is one fixed-size 64 byte record written into memory-mapped segment files,
+ * so appending costs a slot reservation and a few absolute puts - no formatting, no text I/O.
+ *
+ * Layout of one run directory (journal.directory/run-yyyyMMdd-HHmmss):
+ * <pre>
+ * segment-00000.jnl   64 byte header + fixed records; the header holds the number of reserved
+ *                     slots once the journal is closed (0 after a crash)
+ * endpoints.tsv       endpoint id -> path template dictionary
+ * bodies.dat          optional request/response bodies referenced by offset (journal.bodies=true)
+ * </pre>
+ *
+ * Record layout (big endian):
+ * <pre>
+ *  0 long  start time (epoch ms)     20 int   thread id
+ *  8 int   duration (microseconds)   24 long  request size
+ * 12 short status code               32 long  response size
+ * 14 byte  method                    40 long  body offset in bodies.dat (-1 if none)
+ * 15 byte  flags                     48 int   request body length
+ * 16 int   endpoint id               52 int   response body length
+ *                                    56 long  sequence number
+ * </pre>
+ *
+ * A slot whose writer never finished (e.g. still appending at close) stays zero; readers skip
+ * such holes instead of stopping at them.
+ *
+ * Enable with journal.enabled=true; query with {@link ExchangeJournalQuery}.
+ */
+public class ExchangeJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeJournal.class);
+    
+    public static final int RECORD_SIZE = 64;
+    static final int MAGIC = 0x454A4E4C; // "EJNL"
+    static final int VERSION = 1;
+    static final int HEADER_SLOT_COUNT = 24;
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".jnl";
+    static final String ENDPOINTS_FILE = "endpoints.tsv";
+    static final String BODIES_FILE = "bodies.dat";
+    static final byte FLAG_BODIES = 1;
+    static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS", "OTHER"};
+    
+    private static final boolean ENABLED = ConfigManager.getBoolean("journal.enabled", false);
+    private static final boolean STORE_BODIES = ConfigManager.getBoolean("journal.bodies", false);
+    private static final String BASE_DIRECTORY = ConfigManager.get("journal.directory", "target/journal");
+    private static final long SEGMENT_BYTES = Math.min(1024, Math.max(1, ConfigManager.getLong("journal.segment.size.mb", 64L))) * 1024 * 1024;
+    private static final long RECORDS_PER_SEGMENT = SEGMENT_BYTES / RECORD_SIZE - 1;
+    
+    private static final AtomicLong nextSlot = new AtomicLong();
+    private static final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private static final Map<String, Integer> endpointIds = new ConcurrentHashMap<>();
+    
+    private static volatile Path runDirectory;
+    private static volatile boolean closed;
+    private static BufferedWriter endpointWriter;
+    private static FileChannel bodyChannel;
+    
+    private ExchangeJournal() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * True when journal.enabled=true
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    /**
+     * True when request and response bodies are journaled as well (journal.bodies=true)
+     */
+    public static boolean isStoringBodies() {
+        return ENABLED && STORE_BODIES;
+    }
+    
+    /**
+     * Directory of the current run, or null before the first record
+     */
+    public static Path getRunDirectory() {
+        return runDirectory;
+    }
+    
+    /**
+     * Number of records appended so far
+     */
+    public static long getRecordCount() {
+        return nextSlot.get();
+    }
+    
+    /**
+     * Append one exchange. Bodies are only stored when journal.bodies=true.
+     */
+    public static void append(long startMillis, long durationNanos, String method, String endpoint, int statusCode,
+                              long requestSize, long responseSize, byte[] requestBody, byte[] responseBody) {
+        if (!ENABLED || closed) {
+            return;
+        }
+        if (runDirectory == null) {
+            open();
+        }
+        
+        long sequence = nextSlot.getAndIncrement();
+        MappedByteBuffer segment = segment((int) (sequence / RECORDS_PER_SEGMENT));
+        if (segment == null) {
+            return;
+        }
+        int position = (int) ((sequence % RECORDS_PER_SEGMENT + 1) * RECORD_SIZE);
+        
+        long bodyOffset = -1;
+        int requestBodyLength = 0;
+        int responseBodyLength = 0;
+        if (STORE_BODIES && (requestBody != null || responseBody != null)) {
+            requestBodyLength = requestBody != null ? requestBody.length : 0;
+            responseBodyLength = responseBody != null ? responseBody.length : 0;
+            bodyOffset = writeBodies(requestBody, responseBody);
+        }
+        
+        segment.putInt(position + 8, (int) Math.min(Integer.MAX_VALUE, durationNanos / 1000));
+        segment.putShort(position + 12, (short) statusCode);
+        segment.put(position + 14, methodCode(method));
+        segment.put(position + 15, bodyOffset >= 0 ? FLAG_BODIES : 0);
+        segment.putInt(position + 16, endpointId(endpoint));
+        segment.putInt(position + 20, (int) Thread.currentThread().getId());
+        segment.putLong(position + 24, requestSize);
+        segment.putLong(position + 32, responseSize);
+        segment.putLong(position + 40, bodyOffset);
+        segment.putInt(position + 48, requestBodyLength);
+        segment.putInt(position + 52, responseBodyLength);
+        segment.putLong(position + 56, sequence);
+        // Start time last: a zero start time marks a slot reserved but not (yet) written, which readers skip
+        segment.putLong(position, Math.max(1, startMillis));
+    }
+    
+    /**
+     * Force mapped segments and side files to disk. Later appends are ignored.
+     */
+    public static synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long slots = nextSlot.get();
+        for (int i = 0; i < segments.size(); i++) {
+            MappedByteBuffer segment = segments.get(i);
+            segment.putLong(HEADER_SLOT_COUNT, Math.max(0, Math.min(RECORDS_PER_SEGMENT, slots - i * RECORDS_PER_SEGMENT)));
+            segment.force();
+        }
+        try {
+            if (endpointWriter != null) {
+                endpointWriter.close();
+            }
+            if (bodyChannel != null) {
+                bodyChannel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing exchange journal: {}", e.getMessage());
+        }
+        if (runDirectory != null) {
+            logger.info("Exchange journal closed - {} records in {}", nextSlot.get(), runDirectory);
+        }
+    }
+    
+    // =============== WRITING ===============
+    
+    private static synchronized void open() {
+        if (runDirectory != null) {
+            return;
+        }
+        try {
+            String runName = "run-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path directory = Files.createDirectories(Paths.get(BASE_DIRECTORY, runName));
+            endpointWriter = Files.newBufferedWriter(directory.resolve(ENDPOINTS_FILE), StandardCharsets.UTF_8);
+            if (STORE_BODIES) {
+                bodyChannel = FileChannel.open(directory.resolve(BODIES_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(ExchangeJournal::close, "exchange-journal-shutdown"));
+            runDirectory = directory;
+            logger.info("Exchange journal started in {}", directory);
+        } catch (IOException e) {
+            logger.error("Error creating exchange journal in {}: {}", BASE_DIRECTORY, e.getMessage());
+            throw new RuntimeException("Exchange journal could not be created", e);
+        }
+    }
+    
+    private static MappedByteBuffer segment(int index) {
+        if (index < segments.size()) {
+            return segments.get(index);
+        }
+        synchronized (ExchangeJournal.class) {
+            while (!closed && segments.size() <= index) {
+                segments.add(mapSegment(segments.size()));
+            }
+            return index < segments.size() ? segments.get(index) : null;
+        }
+    }
+    
+    private static MappedByteBuffer mapSegment(int index) {
+        Path file = runDirectory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+            segment.putInt(0, MAGIC);
+            segment.putInt(4, VERSION);
+            segment.putInt(8, RECORD_SIZE);
+            segment.putInt(12, index);
+            segment.putLong(16, System.currentTimeMillis());
+            logger.debug("Mapped journal segment {}", file);
+            return segment;
+        } catch (IOException e) {
+            logger.error("Error mapping journal segment {}: {}", file, e.getMessage());
+            throw new RuntimeException("Journal segment could not be mapped: " + file, e);
+        }
+    }
+    
+    private static int endpointId(String endpoint) {
+        String key = endpoint != null ? endpoint : "";
+        Integer id = endpointIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ExchangeJournal.class) {
+            id = endpointIds.get(key);
+            if (id == null) {
+                id = endpointIds.size();
+                try {
+                    endpointWriter.write(id + "\t" + key + "\n");
+                    endpointWriter.flush();
+                } catch (IOException e) {
+                    logger.warn("Error writing journal endpoint '{}': {}", key, e.getMessage());
+                }
+                endpointIds.put(key, id);
+            }
+            return id;
+        }
+    }
+    
+    private static synchronized long writeBodies(byte[] requestBody, byte[] responseBody) {
+        if (bodyChannel == null || !bodyChannel.isOpen()) {
+            return -1;
+        }
+        try {
+            long offset = bodyChannel.position();
+            if (requestBody != null) {
+                writeFully(ByteBuffer.wrap(requestBody));
+            }
+            if (responseBody != null) {
+                writeFully(ByteBuffer.wrap(responseBody));
+            }
+            return offset;
+        } catch (IOException e) {
+            logger.warn("Error writing journal bodies: {}", e.getMessage());
+            return -1;
+        }
+    }
+    
+    private static void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            bodyChannel.write(buffer);
+        }
+    }
+    
+    private static byte methodCode(String method) {
+        for (int i = 0; i < METHODS.length - 1; i++) {
+            if (METHODS[i].equalsIgnoreCase(method)) {
+                return (byte) i;
+            }
+        }
+        return (byte) (METHODS.length - 1);
+    }
+    
+    // =============== READING ===============
+    
+    /**
+     * Visit every record of a run directory in append order
+     */
+    public static void read(Path directory, Consumer<Entry> visitor) {
+        Map<Integer, String> endpoints = readEndpoints(directory);
+        List<Path> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            files.forEach(segmentFiles::add);
+        } catch (IOException e) {
+            logger.error("Error listing journal segments in {}: {}", directory, e.getMessage());
+            throw new RuntimeException("Journal could not be read: " + directory, e);
+        }
+        Collections.sort(segmentFiles);
+        
+        for (Path file : segmentFiles) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (segment.limit() < RECORD_SIZE || segment.getInt(0) != MAGIC) {
+                    logger.warn("Skipping {} - not a journal segment", file);
+                    continue;
+                }
+                // Without a slot count (the run did not close) the whole segment is scanned
+                long slots = segment.getLong(HEADER_SLOT_COUNT);
+                long limit = slots > 0 ? Math.min(segment.limit(), (slots + 1) * RECORD_SIZE) : segment.limit();
+                for (int position = RECORD_SIZE; position + RECORD_SIZE <= limit; position += RECORD_SIZE) {
+                    if (segment.getLong(position) == 0) {
+                        // Reserved but never written
+                        continue;
+                    }
+                    visitor.accept(new Entry(segment, position, endpoints));
+                }
+            } catch (IOException e) {
+                logger.error("Error reading journal segment {}: {}", file, e.getMessage());
+                throw new RuntimeException("Journal segment could not be read: " + file, e);
+            }
+        }
+    }
+    
+    /**
+     * Stored request and response body of an entry, or null when bodies were not journaled
+     */
+    public static byte[][] readBodies(Path directory, Entry entry) {
+        if (!entry.hasBodies()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(BODIES_FILE), StandardOpenOption.READ)) {
+            ByteBuffer request = ByteBuffer.allocate(entry.getRequestBodyLength());
+            ByteBuffer response = ByteBuffer.allocate(entry.getResponseBodyLength());
+            channel.position(entry.getBodyOffset());
+            while (request.hasRemaining() && channel.read(request) >= 0) {
+                // keep reading
+            }
+            while (response.hasRemaining() && channel.read(response) >= 0) {
+                // keep reading
+            }
+            return new byte[][] {request.array(), response.array()};
+        } catch (IOException e) {
+            logger.error("Error reading journal bodies in {}: {}", directory, e.getMessage());
+            throw new RuntimeException("Journal bodies could not be read", e);
+        }
+    }
+    
+    private static Map<Integer, String> readEndpoints(Path directory) {
+        Map<Integer, String> endpoints = new HashMap<>();
+        Path file = directory.resolve(ENDPOINTS_FILE);
+        if (!Files.exists(file)) {
+            return endpoints;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    endpoints.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+                }
+            }
+            return endpoints;
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Error reading journal endpoints {}: {}", file, e.getMessage());
+            throw new RuntimeException("Journal endpoints could not be read: " + file, e);
+        }
+    }
+    
+    /**
+     * One journal record, decoded
+     */
+    public static class Entry {
+        private final long startMillis;
+        private final int durationMicros;
+        private final int statusCode;
+        private final String method;
+        private final boolean bodies;
+        private final String endpoint;
+        private final int threadId;
+        private final long requestSize;
+        private final long responseSize;
+        private final long bodyOffset;
+        private final int requestBodyLength;
+        private final int responseBodyLength;
+        private final long sequence;
+        
+        Entry(ByteBuffer segment, int position, Map<Integer, String> endpoints) {
+            this.startMillis = segment.getLong(position);
+            this.durationMicros = segment.getInt(position + 8);
+            this.statusCode = segment.getShort(position + 12) & 0xFFFF;
+            this.method = METHODS[Math.min(METHODS.length - 1, segment.get(position + 14) & 0xFF)];
+            this.bodies = (segment.get(position + 15) & FLAG_BODIES) != 0;
+            int endpointId = segment.getInt(position + 16);
+            this.endpoint = endpoints.getOrDefault(endpointId, "#" + endpointId);
+            this.threadId = segment.getInt(position + 20);
+            this.requestSize = segment.getLong(position + 24);
+            this.responseSize = segment.getLong(position + 32);
+            this.bodyOffset = segment.getLong(position + 40);
+            this.requestBodyLength = segment.getInt(position + 48);
+            this.responseBodyLength = segment.getInt(position + 52);
+            this.sequence = segment.getLong(position + 56);
+        }
+        
+        public long getStartMillis() { return startMillis; }
+        public int getDurationMicros() { return durationMicros; }
+        public int getStatusCode() { return statusCode; }
+        public String getMethod() { return method; }
+        public boolean hasBodies() { return bodies; }
+        public String getEndpoint() { return endpoint; }
+        public int getThreadId() { return threadId; }
+        public long getRequestSize() { return requestSize; }
+        public long getResponseSize() { return responseSize; }
+        public long getBodyOffset() { return bodyOffset; }
+        public int getRequestBodyLength() { return requestBodyLength; }
+        public int getResponseBodyLength() { return responseBodyLength; }
+        public long getSequence() { return sequence; }
+    }
+}
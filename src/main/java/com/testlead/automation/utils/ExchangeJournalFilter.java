@@ -0,0 +1,76 @@
+package com.testlead.automation.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records timing and metadata of every exchange in the {@link ExchangeJournal}.
+ * Endpoints are journaled by their path template (/products/{id}), so results
+ * aggregate per endpoint rather than per resource id.
+ */
+public class ExchangeJournalFilter implements Filter {
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                          FilterableResponseSpecification responseSpec,
+                          FilterContext ctx) {
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long durationNanos = System.nanoTime() - start;
+        
+        // Pooled bodies stay leased until the call returns; they are only copied when bodies are journaled
+        Object body = requestSpec.getBody();
+        long requestSize = bodySize(body);
+        byte[] requestBody = ExchangeJournal.isStoringBodies() ? bodyBytes(body) : null;
+        byte[] responseBody = response.asByteArray();
+        ExchangeJournal.append(startMillis, durationNanos, requestSpec.getMethod(), endpoint(requestSpec),
+            response.getStatusCode(), requestSize, responseBody != null ? responseBody.length : 0,
+            requestBody, responseBody);
+        return response;
+    }
+    
+    private static String endpoint(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        return path != null && !path.isEmpty() ? path : requestSpec.getDerivedPath();
+    }
+    
+    private static long bodySize(Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof ByteArrayInputStream) {
+            // Pooled body, consumed by the send - rewind it first
+            ByteArrayInputStream stream = (ByteArrayInputStream) body;
+            stream.reset();
+            return stream.available();
+        }
+        if (body instanceof CharSequence) {
+            return ExchangeRecord.utf8Length((CharSequence) body);
+        }
+        return 0;
+    }
+    
+    private static byte[] bodyBytes(Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        if (body instanceof ByteArrayInputStream) {
+            ByteArrayInputStream stream = (ByteArrayInputStream) body;
+            stream.reset();
+            byte[] content = stream.readAllBytes();
+            stream.reset();
+            return content;
+        }
+        return null;
+    }
+}
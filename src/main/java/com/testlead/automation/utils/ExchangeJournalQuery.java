@@ -0,0 +1,267 @@
+package com.testlead.automation.utils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Offline filtering and aggregation of an {@link ExchangeJournal} run.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/classes:... com.testlead.automation.utils.ExchangeJournalQuery target/journal \
+ *     [--endpoint /products/bulk] [--method POST] [--status 5xx|404] \
+ *     [--percentile 99] [--bucket 1] [--list] [--bodies]
+ * </pre>
+ *
+ * Without --list the matching records are aggregated per endpoint and time bucket (minutes):
+ * count, error count, p50, the requested percentile and max duration in milliseconds.
+ * A journal base directory resolves to its latest run.
+ */
+public class ExchangeJournalQuery {
+    
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    
+    private final Path directory;
+    private final List<Predicate<ExchangeJournal.Entry>> filters = new ArrayList<>();
+    private double percentile = 99.0;
+    private long bucketMillis = 60_000L;
+    
+    public ExchangeJournalQuery(Path directory) {
+        this.directory = resolveRun(directory);
+    }
+    
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ExchangeJournalQuery <journal-dir> [--endpoint <path>] [--method <method>]"
+                + " [--status <code|Nxx>] [--percentile <p>] [--bucket <minutes>] [--list] [--bodies]");
+            System.exit(1);
+        }
+        ExchangeJournalQuery query = new ExchangeJournalQuery(Paths.get(args[0]));
+        boolean list = false;
+        boolean bodies = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--endpoint":
+                    query.endpoint(args[++i]);
+                    break;
+                case "--method":
+                    query.method(args[++i]);
+                    break;
+                case "--status":
+                    query.status(args[++i]);
+                    break;
+                case "--percentile":
+                    query.percentile(Double.parseDouble(args[++i]));
+                    break;
+                case "--bucket":
+                    query.bucketMinutes(Integer.parseInt(args[++i]));
+                    break;
+                case "--list":
+                    list = true;
+                    break;
+                case "--bodies":
+                    list = true;
+                    bodies = true;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (list) {
+            query.list(System.out, bodies);
+        } else {
+            query.aggregate(System.out);
+        }
+    }
+    
+    // =============== FILTERS ===============
+    
+    public ExchangeJournalQuery endpoint(String endpoint) {
+        filters.add(entry -> entry.getEndpoint().equals(endpoint));
+        return this;
+    }
+    
+    public ExchangeJournalQuery method(String method) {
+        filters.add(entry -> entry.getMethod().equalsIgnoreCase(method));
+        return this;
+    }
+    
+    /**
+     * Exact status code ("404") or status class ("5xx")
+     */
+    public ExchangeJournalQuery status(String status) {
+        if (status.length() == 3 && status.toLowerCase().endsWith("xx")) {
+            int statusClass = Character.digit(status.charAt(0), 10);
+            filters.add(entry -> entry.getStatusCode() / 100 == statusClass);
+        } else {
+            int code = Integer.parseInt(status);
+            filters.add(entry -> entry.getStatusCode() == code);
+        }
+        return this;
+    }
+    
+    public ExchangeJournalQuery between(long fromMillis, long toMillis) {
+        filters.add(entry -> entry.getStartMillis() >= fromMillis && entry.getStartMillis() < toMillis);
+        return this;
+    }
+    
+    public ExchangeJournalQuery percentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+    
+    public ExchangeJournalQuery bucketMinutes(int minutes) {
+        this.bucketMillis = Math.max(1, minutes) * 60_000L;
+        return this;
+    }
+    
+    // =============== RESULTS ===============
+    
+    /**
+     * Matching records in journal order
+     */
+    public List<ExchangeJournal.Entry> find() {
+        List<ExchangeJournal.Entry> entries = new ArrayList<>();
+        ExchangeJournal.read(directory, entry -> {
+            if (matches(entry)) {
+                entries.add(entry);
+            }
+        });
+        return entries;
+    }
+    
+    /**
+     * Duration statistics per endpoint and time bucket, ordered by endpoint then time
+     */
+    public List<Bucket> aggregate() {
+        Map<String, Map<Long, Bucket>> buckets = new TreeMap<>();
+        ExchangeJournal.read(directory, entry -> {
+            if (matches(entry)) {
+                long start = entry.getStartMillis() - entry.getStartMillis() % bucketMillis;
+                String endpoint = entry.getMethod() + " " + entry.getEndpoint();
+                buckets.computeIfAbsent(endpoint, key -> new TreeMap<>())
+                    .computeIfAbsent(start, key -> new Bucket(endpoint, start))
+                    .add(entry);
+            }
+        });
+        List<Bucket> result = new ArrayList<>();
+        buckets.values().forEach(byTime -> result.addAll(byTime.values()));
+        return result;
+    }
+    
+    public void aggregate(PrintStream out) {
+        String percentileLabel = "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile));
+        out.printf("%-40s %-19s %8s %7s %9s %9s %9s%n", "ENDPOINT", "BUCKET", "COUNT", "ERRORS", "p50(ms)",
+            percentileLabel + "(ms)", "max(ms)");
+        for (Bucket bucket : aggregate()) {
+            out.printf("%-40s %-19s %8d %7d %9.1f %9.1f %9.1f%n", bucket.getEndpoint(),
+                TIME_FORMAT.format(Instant.ofEpochMilli(bucket.getStartMillis())), bucket.getCount(),
+                bucket.getErrorCount(), bucket.percentileMillis(50), bucket.percentileMillis(percentile),
+                bucket.percentileMillis(100));
+        }
+    }
+    
+    public void list(PrintStream out, boolean withBodies) {
+        for (ExchangeJournal.Entry entry : find()) {
+            out.printf("%s %-6s %-40s %3d %9.1f ms req=%d resp=%d%n",
+                TIME_FORMAT.format(Instant.ofEpochMilli(entry.getStartMillis())), entry.getMethod(),
+                entry.getEndpoint(), entry.getStatusCode(), entry.getDurationMicros() / 1000.0,
+                entry.getRequestSize(), entry.getResponseSize());
+            if (withBodies && entry.hasBodies()) {
+                byte[][] bodies = ExchangeJournal.readBodies(directory, entry);
+                out.println("  request:  " + new String(bodies[0], StandardCharsets.UTF_8));
+                out.println("  response: " + new String(bodies[1], StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    private boolean matches(ExchangeJournal.Entry entry) {
+        for (Predicate<ExchangeJournal.Entry> filter : filters) {
+            if (!filter.test(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Path resolveRun(Path directory) {
+        if (Files.exists(directory.resolve(ExchangeJournal.ENDPOINTS_FILE))) {
+            return directory;
+        }
+        // Base directory - pick the latest run (run names sort by time)
+        Path latest = null;
+        try (DirectoryStream<Path> runs = Files.newDirectoryStream(directory, "run-*")) {
+            for (Path run : runs) {
+                if (latest == null || run.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = run;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Journal directory could not be read: " + directory, e);
+        }
+        if (latest == null) {
+            throw new RuntimeException("No exchange journal found in " + directory);
+        }
+        return latest;
+    }
+    
+    /**
+     * Durations of one endpoint within one time bucket
+     */
+    public static class Bucket {
+        private final String endpoint;
+        private final long startMillis;
+        private int[] durations = new int[64];
+        private int count;
+        private int errorCount;
+        private boolean sorted;
+        
+        Bucket(String endpoint, long startMillis) {
+            this.endpoint = endpoint;
+            this.startMillis = startMillis;
+        }
+        
+        void add(ExchangeJournal.Entry entry) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = entry.getDurationMicros();
+            if (entry.getStatusCode() >= 500) {
+                errorCount++;
+            }
+            sorted = false;
+        }
+        
+        public String getEndpoint() { return endpoint; }
+        public long getStartMillis() { return startMillis; }
+        public int getCount() { return count; }
+        public int getErrorCount() { return errorCount; }
+        
+        /**
+         * Nearest-rank percentile of the durations, in milliseconds
+         */
+        public double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(durations, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return durations[Math.min(count, Math.max(1, rank)) - 1] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testlead.automation.config.ConfigManager;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact capture of one request/response exchange.
+ * Only references and raw bytes are taken on the test thread; turning them into text
+ * happens in {@link #toLogMessage()}, which the async logger calls on its own thread.
+ * Bodies are cut to logging.body.max.bytes when captured, so records waiting in the async
+ * buffer or in a test's capture never hold more than that per body.
+ *
+ * With logging.format=json (default) an exchange is logged as one JSON line holding method,
+ * templated path, status, timings, sizes, correlation id and test name. Bodies are included
+ * up to logging.body.max.bytes and only for the content types in logging.body.content.types.
+ * logging.format=text keeps the multi-line {@link #format()} output.
+ */
+public class ExchangeRecord {
+    
+    private static final boolean JSON_FORMAT = "json".equalsIgnoreCase(ConfigManager.get("logging.format", "json"));
+    private static final int BODY_MAX_BYTES = Math.max(0, ConfigManager.getInt("logging.body.max.bytes", 4096));
+    private static final List<String> BODY_CONTENT_TYPES = Arrays.asList(ConfigManager.get("logging.body.content.types",
+        "application/json,application/xml,text/,application/x-www-form-urlencoded").toLowerCase(Locale.ROOT).split("\\s*,\\s*"));
+    private static final JsonFactory jsonFactory = JsonUtils.getObjectMapper().getFactory();
+    
+    private final long timestamp;
+    private final long durationNanos;
+    private final String threadName;
+    private final String testName;
+    private final String correlationId;
+    private final String method;
+    private final String uri;
+    private final String pathTemplate;
+    private final Headers requestHeaders;
+    private final Map<String, ?> queryParams;
+    private final Map<String, ?> pathParams;
+    private final String requestContentType;
+    private final byte[] requestBody;
+    private final long requestSize;
+    private final int statusCode;
+    private final String statusLine;
+    private final long responseTimeMs;
+    private final Headers responseHeaders;
+    private final String responseContentType;
+    private final byte[] responseBody;
+    private final long responseSize;
+    private final String responseCharset;
+    
+    private ExchangeRecord(FilterableRequestSpecification requestSpec, Response response,
+                           long startMillis, long durationNanos, String correlationId) {
+        this.timestamp = startMillis;
+        this.durationNanos = durationNanos;
+        this.threadName = Thread.currentThread().getName();
+        this.testName = ExchangeCapture.currentTestName();
+        this.correlationId = correlationId;
+        this.method = requestSpec.getMethod();
+        this.uri = requestSpec.getURI();
+        this.pathTemplate = requestSpec.getUserDefinedPath();
+        this.requestHeaders = requestSpec.getHeaders();
+        this.queryParams = requestSpec.getQueryParams();
+        this.pathParams = requestSpec.getPathParams();
+        this.requestContentType = requestSpec.getContentType();
+        Object requestBody = requestSpec.getBody();
+        if (requestBody instanceof ByteArrayInputStream) {
+            // Pooled body: the buffer stays leased until the call returns, so read only the kept part of it
+            ByteArrayInputStream stream = (ByteArrayInputStream) requestBody;
+            stream.reset();
+            this.requestSize = stream.available();
+            this.requestBody = BODY_MAX_BYTES == 0 ? null : readPrefix(stream);
+            stream.reset();
+        } else {
+            this.requestSize = bodySize(requestBody);
+            this.requestBody = capBody(requestBody);
+        }
+        this.statusCode = response.getStatusCode();
+        this.statusLine = response.getStatusLine();
+        this.responseTimeMs = response.getTime();
+        this.responseHeaders = response.getHeaders();
+        this.responseContentType = response.getContentType();
+        byte[] responseBytes = response.asByteArray();
+        this.responseSize = responseBytes != null ? responseBytes.length : 0;
+        this.responseBody = capBody(responseBytes);
+        this.responseCharset = responseContentType != null && responseContentType.contains("charset=")
+            ? responseContentType.replaceFirst(".*charset=", "").replaceAll("[;\\s].*", "") : null;
+    }
+    
+    /**
+     * Capture an exchange once the response is in, with the filter's own timing and the correlation id
+     * sent with the request. Pooled bodies are still leased at that point and are read in place.
+     */
+    public static ExchangeRecord capture(FilterableRequestSpecification requestSpec, Response response,
+                                         long startMillis, long durationNanos, String correlationId) {
+        return new ExchangeRecord(requestSpec, response, startMillis, durationNanos, correlationId);
+    }
+    
+    public long getTimestamp() { return timestamp; }
+    public long getDurationNanos() { return durationNanos; }
+    public String getThreadName() { return threadName; }
+    public String getTestName() { return testName; }
+    public String getCorrelationId() { return correlationId; }
+    public String getMethod() { return method; }
+    public String getUri() { return uri; }
+    public String getPathTemplate() { return pathTemplate; }
+    public Headers getRequestHeaders() { return requestHeaders; }
+    public int getStatusCode() { return statusCode; }
+    public long getResponseTimeMs() { return responseTimeMs; }
+    public Headers getResponseHeaders() { return responseHeaders; }
+    
+    /**
+     * Captured request body as text, at most logging.body.max.bytes of it
+     */
+    public String getRequestBodyText() {
+        return requestBody != null ? new String(requestBody, StandardCharsets.UTF_8) : null;
+    }
+    
+    /**
+     * Captured response body decoded with the response charset (UTF-8 when not declared),
+     * at most logging.body.max.bytes of it
+     */
+    public String getResponseBodyText() {
+        if (responseBody == null || responseBody.length == 0) {
+            return null;
+        }
+        return new String(responseBody, responseCharset());
+    }
+    
+    /**
+     * Full response body size in bytes, not just the captured part
+     */
+    public long getResponseSize() {
+        return responseSize;
+    }
+    
+    /**
+     * Full request body size in bytes (UTF-8 for text bodies), not just the captured part
+     */
+    public long getRequestSize() {
+        return requestSize;
+    }
+    
+    /**
+     * The configured log representation: one JSON line, or the multi-line text block
+     */
+    public String toLogMessage() {
+        if (JSON_FORMAT) {
+            return toJson();
+        }
+        return "[" + threadName + "] " + method + " " + uri + " -> " + statusCode + "\n" + format();
+    }
+    
+    /**
+     * One-line JSON event for the exchange. Headers are left out; bodies are masked and size-capped.
+     */
+    public String toJson() {
+        StringWriter out = new StringWriter(512 + 2 * Math.min(BODY_MAX_BYTES, 4096));
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("ts", Instant.ofEpochMilli(timestamp).toString());
+            json.writeStringField("event", "http.exchange");
+            json.writeStringField("thread", threadName);
+            if (testName != null) {
+                json.writeStringField("test", testName);
+            }
+            if (correlationId != null) {
+                json.writeStringField("correlationId", correlationId);
+            }
+            json.writeStringField("method", method);
+            json.writeStringField("path", pathTemplate != null && !pathTemplate.isEmpty() ? pathTemplate : uri);
+            json.writeStringField("uri", uri);
+            json.writeNumberField("status", statusCode);
+            json.writeNumberField("durationMs", durationNanos / 1_000_000.0);
+            json.writeNumberField("responseTimeMs", responseTimeMs);
+            json.writeNumberField("requestBytes", getRequestSize());
+            json.writeNumberField("responseBytes", getResponseSize());
+            writeBody(json, "request", requestContentType, requestBody, requestSize, StandardCharsets.UTF_8);
+            writeBody(json, "response", responseContentType, responseBody, responseSize, responseCharset());
+            json.writeEndObject();
+        } catch (IOException e) {
+            // StringWriter does not throw; keep the exchange visible anyway
+            return "{\"event\":\"http.exchange\",\"method\":\"" + method + "\",\"status\":" + statusCode + "}";
+        }
+        return out.toString();
+    }
+    
+    private static void writeBody(JsonGenerator json, String prefix, String contentType, byte[] body, long size,
+                                  Charset charset) throws IOException {
+        if (body == null || body.length == 0 || !isLoggedContentType(contentType)) {
+            return;
+        }
+        // Mask after truncating: a value cut off at the limit is masked as a whole
+        json.writeStringField(prefix + "Body", SensitiveDataMasker.getDefault().mask(new String(body, charset)));
+        if (size > body.length) {
+            json.writeBooleanField(prefix + "BodyTruncated", true);
+        }
+    }
+    
+    /**
+     * Keep at most logging.body.max.bytes of a body; text bodies are only encoded up to the cap
+     */
+    private static byte[] capBody(Object body) {
+        if (body == null || BODY_MAX_BYTES == 0) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            return bytes.length > BODY_MAX_BYTES ? Arrays.copyOf(bytes, BODY_MAX_BYTES) : bytes;
+        }
+        String text = body.toString();
+        byte[] bytes = text.substring(0, Math.min(text.length(), BODY_MAX_BYTES)).getBytes(StandardCharsets.UTF_8);
+        return bytes.length > BODY_MAX_BYTES ? Arrays.copyOf(bytes, BODY_MAX_BYTES) : bytes;
+    }
+    
+    private static byte[] readPrefix(ByteArrayInputStream stream) {
+        byte[] prefix = new byte[Math.min(stream.available(), BODY_MAX_BYTES)];
+        stream.read(prefix, 0, prefix.length);
+        return prefix;
+    }
+    
+    private static long bodySize(Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof CharSequence) {
+            return utf8Length((CharSequence) body);
+        }
+        return 0;
+    }
+    
+    private static boolean isLoggedContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("+json")) {
+            return true;
+        }
+        for (String allowed : BODY_CONTENT_TYPES) {
+            if (!allowed.isEmpty() && type.startsWith(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Charset responseCharset() {
+        if (responseCharset != null) {
+            try {
+                return Charset.forName(responseCharset);
+            } catch (IllegalArgumentException e) {
+                // Unknown charset name - keep UTF-8
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+    
+    static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+    
+    /**
+     * Multi-line request/response description, same content the filter used to log line by line.
+     * Sensitive fields, headers and card numbers are masked.
+     */
+    public String format() {
+        SensitiveDataMasker masker = SensitiveDataMasker.getDefault();
+        StringBuilder text = new StringBuilder(512);
+        text.append("=== REQUEST DETAILS ===\n");
+        text.append("Method: ").append(method).append('\n');
+        text.append("URI: ").append(uri).append('\n');
+        if (correlationId != null) {
+            text.append("Correlation Id: ").append(correlationId).append('\n');
+        }
+        if (requestHeaders != null && requestHeaders.size() > 0) {
+            text.append("Headers: ").append(masker.maskHeaders(requestHeaders)).append('\n');
+        }
+        if (queryParams != null && !queryParams.isEmpty()) {
+            text.append("Query Parameters: ").append(masker.maskParameters(queryParams)).append('\n');
+        }
+        if (pathParams != null && !pathParams.isEmpty()) {
+            text.append("Path Parameters: ").append(masker.maskParameters(pathParams)).append('\n');
+        }
+        String body = getRequestBodyText();
+        if (body != null) {
+            text.append("Request Body: ").append(masker.mask(body))
+                .append(requestSize > requestBody.length ? " ...(truncated)" : "").append('\n');
+        }
+        text.append("=== RESPONSE DETAILS ===\n");
+        text.append("Status Code: ").append(statusCode).append('\n');
+        text.append("Status Line: ").append(statusLine).append('\n');
+        text.append("Response Time: ").append(responseTimeMs).append(" ms\n");
+        if (responseHeaders != null && responseHeaders.size() > 0) {
+            text.append("Response Headers: ").append(masker.maskHeaders(responseHeaders)).append('\n');
+        }
+        String responseText = getResponseBodyText();
+        if (responseText != null && !responseText.trim().isEmpty()) {
+            text.append("Response Body: ").append(masker.mask(responseText))
+                .append(responseSize > responseBody.length ? " ...(truncated)" : "").append('\n');
+        }
+        text.append("==========================");
+        return text.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes report events into ExtentReports. The HTML for API details is built here,
+ * on the report writer thread, instead of on the test thread.
+ */
+public class ExtentReportSink implements ReportSink {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExtentReportSink.class);
+    
+    private final ExtentReports extent;
+    // Written by the report writer thread, read by test threads through getTest
+    private final Map<Long, ExtentTest> tests = new ConcurrentHashMap<>();
+    
+    public ExtentReportSink(ExtentReports extent) {
+        this.extent = extent;
+    }
+    
+    /**
+     * Extent test for a test id, or null if it was not started or already ended.
+     * Safe to call from any thread.
+     */
+    public ExtentTest getTest(long testId) {
+        return tests.get(testId);
+    }
+    
+    @Override
+    public void onEvent(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.START_TEST) {
+            tests.put(event.getTestId(), extent.createTest(event.getName(), event.getDescription()));
+            return;
+        }
+        if (event.getType() == ReportEvent.Type.END_TEST) {
+            ExtentTest ended = tests.remove(event.getTestId());
+            if (ended != null) {
+                applyResult(ended, event.getStatus());
+            }
+            return;
+        }
+        ExtentTest test = tests.get(event.getTestId());
+        if (test == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case LOG:
+                test.log(event.getStatus(), event.getDescription());
+                break;
+            case EXCEPTION:
+                test.log(event.getStatus(), event.getThrowable());
+                break;
+            case API_REQUEST:
+                test.log(event.getStatus(), requestHtml(event));
+                break;
+            case API_RESPONSE:
+                test.log(event.getStatus(), responseHtml(event));
+                break;
+            case CATEGORY:
+                test.assignCategory(event.getName());
+                break;
+            case AUTHOR:
+                test.assignAuthor(event.getName());
+                break;
+            case SCREENSHOT:
+                try {
+                    test.addScreenCaptureFromPath(event.getName());
+                } catch (Exception e) {
+                    logger.error("Failed to add screenshot to report", e);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+    
+    @Override
+    public void flush() {
+        extent.flush();
+    }
+    
+    /**
+     * Extent derives a test's status from its log entries only, so a FAIL, SKIP or WARNING result
+     * that no entry carries yet is added as one
+     */
+    static void applyResult(ExtentTest test, Status result) {
+        if (result == null || result == Status.PASS || result == Status.INFO || test.getStatus() == result) {
+            return;
+        }
+        test.log(result, "Test result: " + result.name());
+    }
+    
+    static String requestHtml(ReportEvent event) {
+        StringBuilder apiDetails = new StringBuilder();
+        apiDetails.append("<details><summary><b>API Request Details</b></summary>");
+        apiDetails.append("<p><b>Method:</b> ").append(event.getMethod()).append("</p>");
+        apiDetails.append("<p><b>URL:</b> ").append(event.getUrl()).append("</p>");
+        
+        if (event.getHeaders() != null && !event.getHeaders().isEmpty()) {
+            apiDetails.append("<p><b>Headers:</b></p>");
+            apiDetails.append("<pre>").append(SensitiveDataMasker.getDefault().maskHeaders(event.getHeaders())).append("</pre>");
+        }
+        
+        if (event.getBody() != null && !event.getBody().isEmpty()) {
+            apiDetails.append("<p><b>Request Body:</b></p>");
+            apiDetails.append(AttachmentStore.html(SensitiveDataMasker.getDefault().mask(event.getBody()), "json"));
+        }
+        
+        apiDetails.append("</details>");
+        return apiDetails.toString();
+    }
+    
+    static String responseHtml(ReportEvent event) {
+        StringBuilder responseDetails = new StringBuilder();
+        responseDetails.append("<details><summary><b>API Response Details</b></summary>");
+        responseDetails.append("<p><b>Status Code:</b> ").append(event.getStatusCode()).append("</p>");
+        responseDetails.append("<p><b>Response Time:</b> ").append(event.getResponseTime()).append(" ms</p>");
+        
+        if (event.getHeaders() != null && !event.getHeaders().isEmpty()) {
+            responseDetails.append("<p><b>Response Headers:</b></p>");
+            responseDetails.append("<pre>").append(SensitiveDataMasker.getDefault().maskHeaders(event.getHeaders())).append("</pre>");
+        }
+        
+        if (event.getBody() != null && !event.getBody().isEmpty()) {
+            responseDetails.append("<p><b>Response Body:</b></p>");
+            responseDetails.append(AttachmentStore.html(SensitiveDataMasker.getDefault().mask(event.getBody()), "json"));
+        }
+        
+        responseDetails.append("</details>");
+        return responseDetails.toString();
+    }
+}
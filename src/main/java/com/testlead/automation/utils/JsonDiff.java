@@ -0,0 +1,321 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.*;
+
+/**
+ * Structural diff between two JSON trees.
+ * Reports every difference with its path instead of stopping at the first mismatch,
+ * supports ignored fields and matching array elements by a key field (e.g. id or sku).
+ * Each node is visited once, so comparing large catalogs stays linear.
+ *
+ * Usage:
+ * <pre>
+ * JsonDiff diff = JsonDiff.builder()
+ *     .ignoreFields("createdAt", "updatedAt")
+ *     .matchArraysBy("id", "sku")
+ *     .build();
+ * List&lt;JsonDiff.Difference&gt; differences = diff.compare(expectedProduct, response.getBody().asString());
+ * </pre>
+ */
+public class JsonDiff {
+    
+    public enum ChangeType {
+        ADDED, REMOVED, CHANGED
+    }
+    
+    private final Set<String> ignoredFields;
+    private final Set<String> ignoredPaths;
+    private final List<String> arrayKeys;
+    private final boolean ignoreAdditionalFields;
+    private final boolean nullEqualsMissing;
+    
+    private JsonDiff(Builder builder) {
+        this.ignoredFields = new HashSet<>(builder.ignoredFields);
+        this.ignoredPaths = new HashSet<>(builder.ignoredPaths);
+        this.arrayKeys = new ArrayList<>(builder.arrayKeys);
+        this.ignoreAdditionalFields = builder.ignoreAdditionalFields;
+        this.nullEqualsMissing = builder.nullEqualsMissing;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Compare two JSON trees
+     */
+    public List<Difference> compare(JsonNode expected, JsonNode actual) {
+        List<Difference> differences = new ArrayList<>();
+        compareNodes("$", expected, actual, differences);
+        return differences;
+    }
+    
+    /**
+     * Compare two JSON strings
+     */
+    public List<Difference> compare(String expectedJson, String actualJson) {
+        return compare(JsonUtils.getJsonNode(expectedJson), JsonUtils.getJsonNode(actualJson));
+    }
+    
+    /**
+     * Compare a model (User, Product, ...) with a JSON response body
+     */
+    public List<Difference> compare(Object expected, String actualJson) {
+        JsonNode expectedNode = JsonUtils.getObjectMapper().valueToTree(expected);
+        return compare(expectedNode, JsonUtils.getJsonNode(actualJson));
+    }
+    
+    private void compareNodes(String path, JsonNode expected, JsonNode actual, List<Difference> differences) {
+        if (ignoredPaths.contains(path)) {
+            return;
+        }
+        
+        boolean expectedMissing = isMissing(expected);
+        boolean actualMissing = isMissing(actual);
+        if (expectedMissing && actualMissing) {
+            return;
+        }
+        if (expectedMissing) {
+            if (!ignoreAdditionalFields) {
+                differences.add(new Difference(path, ChangeType.ADDED, null, actual));
+            }
+            return;
+        }
+        if (actualMissing) {
+            differences.add(new Difference(path, ChangeType.REMOVED, expected, null));
+            return;
+        }
+        
+        if (expected.isObject() && actual.isObject()) {
+            compareObjects(path, expected, actual, differences);
+        } else if (expected.isArray() && actual.isArray()) {
+            compareArrays(path, expected, actual, differences);
+        } else if (!valuesEqual(expected, actual)) {
+            differences.add(new Difference(path, ChangeType.CHANGED, expected, actual));
+        }
+    }
+    
+    private void compareObjects(String path, JsonNode expected, JsonNode actual, List<Difference> differences) {
+        Iterator<Map.Entry<String, JsonNode>> expectedFields = expected.fields();
+        while (expectedFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = expectedFields.next();
+            if (ignoredFields.contains(field.getKey())) {
+                continue;
+            }
+            compareNodes(path + "." + field.getKey(), field.getValue(), actual.get(field.getKey()), differences);
+        }
+        
+        if (ignoreAdditionalFields) {
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> actualFields = actual.fields();
+        while (actualFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = actualFields.next();
+            if (!ignoredFields.contains(field.getKey()) && !expected.has(field.getKey())) {
+                compareNodes(path + "." + field.getKey(), null, field.getValue(), differences);
+            }
+        }
+    }
+    
+    private void compareArrays(String path, JsonNode expected, JsonNode actual, List<Difference> differences) {
+        String key = findArrayKey(expected, actual);
+        if (key == null) {
+            compareArraysByIndex(path, expected, actual, differences);
+            return;
+        }
+        
+        // Index actual elements by key once, then look each expected element up.
+        // Elements sharing a key are queued in order, so duplicates are matched or reported, never dropped.
+        // Elements without the key are kept apart (by position) and only ever matched against each other.
+        Map<String, Deque<JsonNode>> actualByKey = new LinkedHashMap<>();
+        Deque<Integer> unkeyedActual = new ArrayDeque<>();
+        for (int i = 0; i < actual.size(); i++) {
+            JsonNode keyValue = actual.get(i).get(key);
+            if (keyValue != null && !keyValue.isNull()) {
+                actualByKey.computeIfAbsent(keyValue.asText(), k -> new ArrayDeque<>(1)).add(actual.get(i));
+            } else {
+                unkeyedActual.add(i);
+            }
+        }
+        
+        Set<String> expectedKeys = new HashSet<>();
+        int index = 0;
+        for (JsonNode element : expected) {
+            JsonNode keyValue = element.get(key);
+            if (keyValue == null || keyValue.isNull()) {
+                // Matched in order against the next actual element that also lacks the key
+                Integer match = unkeyedActual.poll();
+                compareNodes(path + "[" + index + "]", element,
+                    match != null ? actual.get(match) : null, differences);
+            } else {
+                String elementKey = keyValue.asText();
+                expectedKeys.add(elementKey);
+                Deque<JsonNode> matches = actualByKey.get(elementKey);
+                compareNodes(path + "[" + key + "=" + elementKey + "]", element,
+                    matches != null ? matches.poll() : null, differences);
+            }
+            index++;
+        }
+        
+        for (Map.Entry<String, Deque<JsonNode>> extra : actualByKey.entrySet()) {
+            // A repeated key is a difference even when additional elements are ignored
+            if (ignoreAdditionalFields && !expectedKeys.contains(extra.getKey())) {
+                continue;
+            }
+            for (JsonNode element : extra.getValue()) {
+                differences.add(new Difference(path + "[" + key + "=" + extra.getKey() + "]",
+                    ChangeType.ADDED, null, element));
+            }
+        }
+        if (!ignoreAdditionalFields) {
+            for (int extra : unkeyedActual) {
+                differences.add(new Difference(path + "[" + extra + "]", ChangeType.ADDED, null, actual.get(extra)));
+            }
+        }
+    }
+    
+    private void compareArraysByIndex(String path, JsonNode expected, JsonNode actual, List<Difference> differences) {
+        int size = Math.max(expected.size(), actual.size());
+        for (int i = 0; i < size; i++) {
+            compareNodes(path + "[" + i + "]", expected.get(i), actual.get(i), differences);
+        }
+    }
+    
+    /**
+     * First configured key present on an object element of either array.
+     * Stops at the first element carrying a key, so a leading unkeyed element does not disable key matching.
+     */
+    private String findArrayKey(JsonNode expected, JsonNode actual) {
+        if (arrayKeys.isEmpty()) {
+            return null;
+        }
+        for (JsonNode array : new JsonNode[] {expected, actual}) {
+            for (JsonNode element : array) {
+                if (!element.isObject()) {
+                    return null;
+                }
+                for (String key : arrayKeys) {
+                    if (element.hasNonNull(key)) {
+                        return key;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private boolean isMissing(JsonNode node) {
+        return node == null || node.isMissingNode() || (nullEqualsMissing && node.isNull());
+    }
+    
+    private boolean valuesEqual(JsonNode expected, JsonNode actual) {
+        if (expected.isNumber() && actual.isNumber()) {
+            // 19.99 and 19.990 are the same price
+            return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+        }
+        return expected.equals(actual);
+    }
+    
+    /**
+     * Format differences for assertion messages and reports
+     */
+    public static String format(List<Difference> differences) {
+        if (differences.isEmpty()) {
+            return "No differences";
+        }
+        StringBuilder result = new StringBuilder();
+        result.append(differences.size()).append(" difference(s):\n");
+        for (Difference difference : differences) {
+            result.append("  ").append(difference).append("\n");
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Single path-level difference
+     */
+    public static class Difference {
+        private final String path;
+        private final ChangeType type;
+        private final JsonNode expected;
+        private final JsonNode actual;
+        
+        public Difference(String path, ChangeType type, JsonNode expected, JsonNode actual) {
+            this.path = path;
+            this.type = type;
+            this.expected = expected;
+            this.actual = actual;
+        }
+        
+        public String getPath() { return path; }
+        public ChangeType getType() { return type; }
+        public JsonNode getExpected() { return expected; }
+        public JsonNode getActual() { return actual; }
+        
+        @Override
+        public String toString() {
+            switch (type) {
+                case ADDED:
+                    return type + " " + path + ": " + actual;
+                case REMOVED:
+                    return type + " " + path + ": " + expected;
+                default:
+                    return type + " " + path + ": " + expected + " -> " + actual;
+            }
+        }
+    }
+    
+    public static class Builder {
+        private final Set<String> ignoredFields = new HashSet<>();
+        private final Set<String> ignoredPaths = new HashSet<>();
+        private final List<String> arrayKeys = new ArrayList<>();
+        private boolean ignoreAdditionalFields;
+        private boolean nullEqualsMissing = true;
+        
+        /**
+         * Ignore fields with these names at any depth
+         */
+        public Builder ignoreFields(String... fields) {
+            ignoredFields.addAll(Arrays.asList(fields));
+            return this;
+        }
+        
+        /**
+         * Ignore exact paths such as "$.dimensions.unit"
+         */
+        public Builder ignorePaths(String... paths) {
+            ignoredPaths.addAll(Arrays.asList(paths));
+            return this;
+        }
+        
+        /**
+         * Match array elements by the first of these keys they carry instead of by position
+         */
+        public Builder matchArraysBy(String... keys) {
+            arrayKeys.addAll(Arrays.asList(keys));
+            return this;
+        }
+        
+        /**
+         * Do not report fields that only exist in the actual document
+         */
+        public Builder ignoreAdditionalFields(boolean ignore) {
+            this.ignoreAdditionalFields = ignore;
+            return this;
+        }
+        
+        /**
+         * Treat explicit nulls the same as absent fields (default true)
+         */
+        public Builder nullEqualsMissing(boolean nullEqualsMissing) {
+            this.nullEqualsMissing = nullEqualsMissing;
+            return this;
+        }
+        
+        public JsonDiff build() {
+            return new JsonDiff(this);
+        }
+    }
+}
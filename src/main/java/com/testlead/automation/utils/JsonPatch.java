@@ -0,0 +1,393 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+
+/**
+ * JSON Patch (RFC 6902) and JSON Merge Patch (RFC 7396) applied directly to Jackson trees.
+ * Paths are parsed once when the patch is built, so the same patch can be applied to
+ * many documents without any string parsing or serialization.
+ *
+ * Usage:
+ * <pre>
+ * JsonPatch.Template base = JsonPatch.template(UserTestData.getValidUser());
+ * JsonNode noEmail = base.variant(JsonPatch.create().remove("/email"));
+ * JsonNode badAge = base.variant(JsonPatch.create().replace("/age", -1));
+ * </pre>
+ */
+public class JsonPatch {
+    
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+    
+    // RFC 6902 "test": numbers are equal by value, so 1, 1.0 and a long 1 all match
+    private static final Comparator<JsonNode> NUMERIC_EQUALITY = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+    
+    private final List<Operation> operations = new ArrayList<>();
+    
+    private JsonPatch() {}
+    
+    /**
+     * Start an empty patch
+     */
+    public static JsonPatch create() {
+        return new JsonPatch();
+    }
+    
+    /**
+     * Build a patch from an RFC 6902 patch document
+     */
+    public static JsonPatch fromJson(JsonNode patchDocument) {
+        if (!patchDocument.isArray()) {
+            throw new RuntimeException("JSON Patch document must be an array");
+        }
+        JsonPatch patch = new JsonPatch();
+        for (JsonNode op : patchDocument) {
+            String name = op.path("op").asText();
+            String path = op.path("path").asText();
+            switch (name) {
+                case "add": patch.add(path, op.get("value")); break;
+                case "remove": patch.remove(path); break;
+                case "replace": patch.replace(path, op.get("value")); break;
+                case "move": patch.move(op.path("from").asText(), path); break;
+                case "copy": patch.copy(op.path("from").asText(), path); break;
+                case "test": patch.test(path, op.get("value")); break;
+                default: throw new RuntimeException("Unsupported JSON Patch operation: " + name);
+            }
+        }
+        return patch;
+    }
+    
+    public JsonPatch add(String path, Object value) {
+        operations.add(new Operation(OpType.ADD, null, path, toNode(value)));
+        return this;
+    }
+    
+    public JsonPatch remove(String path) {
+        operations.add(new Operation(OpType.REMOVE, null, path, null));
+        return this;
+    }
+    
+    public JsonPatch replace(String path, Object value) {
+        operations.add(new Operation(OpType.REPLACE, null, path, toNode(value)));
+        return this;
+    }
+    
+    public JsonPatch move(String from, String path) {
+        operations.add(new Operation(OpType.MOVE, from, path, null));
+        return this;
+    }
+    
+    public JsonPatch copy(String from, String path) {
+        operations.add(new Operation(OpType.COPY, from, path, null));
+        return this;
+    }
+    
+    public JsonPatch test(String path, Object value) {
+        operations.add(new Operation(OpType.TEST, null, path, toNode(value)));
+        return this;
+    }
+    
+    /**
+     * Number of operations in this patch
+     */
+    public int size() {
+        return operations.size();
+    }
+    
+    /**
+     * Apply the patch in place and return the (possibly replaced) root
+     */
+    public JsonNode apply(JsonNode target) {
+        JsonNode root = target;
+        for (Operation operation : operations) {
+            root = operation.apply(root);
+        }
+        return root;
+    }
+    
+    /**
+     * Apply the patch to a copy, leaving the original untouched
+     */
+    public JsonNode applyToCopy(JsonNode base) {
+        return apply(base.deepCopy());
+    }
+    
+    /**
+     * Apply an RFC 7396 merge patch in place and return the result
+     */
+    public static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch.deepCopy();
+        }
+        ObjectNode result = target != null && target.isObject() ? (ObjectNode) target : nodeFactory.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), mergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Create a reusable base document for generating payload variants
+     */
+    public static Template template(Object base) {
+        JsonNode node = base instanceof JsonNode ? ((JsonNode) base).deepCopy() : JsonUtils.getObjectMapper().valueToTree(base);
+        return new Template(node);
+    }
+    
+    private static JsonNode toNode(Object value) {
+        if (value == null) {
+            return nodeFactory.nullNode();
+        }
+        if (value instanceof JsonNode) {
+            return (JsonNode) value;
+        }
+        return JsonUtils.getObjectMapper().valueToTree(value);
+    }
+    
+    // =============== POINTER HANDLING ===============
+    
+    /**
+     * Parse an RFC 6901 pointer into unescaped reference tokens
+     */
+    private static String[] parsePointer(String pointer) {
+        if (pointer == null || pointer.isEmpty()) {
+            return new String[0];
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new RuntimeException("Invalid JSON pointer: " + pointer);
+        }
+        String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].indexOf('~') >= 0) {
+                tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+            }
+        }
+        return tokens;
+    }
+    
+    private static JsonNode resolve(JsonNode root, String[] tokens, int length, String pointer) {
+        JsonNode current = root;
+        for (int i = 0; i < length; i++) {
+            if (current.isObject()) {
+                current = current.get(tokens[i]);
+            } else if (current.isArray()) {
+                current = current.get(arrayIndex(tokens[i], current.size() - 1, pointer));
+            } else {
+                current = null;
+            }
+            if (current == null) {
+                throw new RuntimeException("Path not found: " + pointer);
+            }
+        }
+        return current;
+    }
+    
+    private static int arrayIndex(String token, int maxIndex, String pointer) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index < 0 || index > maxIndex) {
+                throw new RuntimeException("Array index out of bounds in path: " + pointer);
+            }
+            return index;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid array index '" + token + "' in path: " + pointer);
+        }
+    }
+    
+    private enum OpType {
+        ADD, REMOVE, REPLACE, MOVE, COPY, TEST
+    }
+    
+    /**
+     * Single operation with pre-parsed paths
+     */
+    private static final class Operation {
+        private final OpType type;
+        private final String path;
+        private final String[] tokens;
+        private final String from;
+        private final String[] fromTokens;
+        private final JsonNode value;
+        
+        Operation(OpType type, String from, String path, JsonNode value) {
+            this.type = type;
+            this.path = path;
+            this.tokens = parsePointer(path);
+            this.from = from;
+            this.fromTokens = from != null ? parsePointer(from) : null;
+            this.value = value;
+        }
+        
+        JsonNode apply(JsonNode root) {
+            switch (type) {
+                case ADD:
+                    return add(root, tokens, path, value.deepCopy());
+                case REMOVE:
+                    remove(root, tokens, path);
+                    return root;
+                case REPLACE:
+                    return replace(root, tokens, path, value.deepCopy());
+                case MOVE: {
+                    JsonNode moved = resolve(root, fromTokens, fromTokens.length, from);
+                    remove(root, fromTokens, from);
+                    return add(root, tokens, path, moved);
+                }
+                case COPY: {
+                    JsonNode copied = resolve(root, fromTokens, fromTokens.length, from).deepCopy();
+                    return add(root, tokens, path, copied);
+                }
+                case TEST: {
+                    JsonNode actual = resolve(root, tokens, tokens.length, path);
+                    if (!actual.equals(NUMERIC_EQUALITY, value)) {
+                        throw new RuntimeException("JSON Patch test failed at " + path + ": expected " + value + " but was " + actual);
+                    }
+                    return root;
+                }
+                default:
+                    throw new IllegalStateException("Unknown operation: " + type);
+            }
+        }
+        
+        private static JsonNode add(JsonNode root, String[] tokens, String path, JsonNode value) {
+            if (tokens.length == 0) {
+                return value;
+            }
+            JsonNode parent = resolve(root, tokens, tokens.length - 1, path);
+            String last = tokens[tokens.length - 1];
+            if (parent.isObject()) {
+                ((ObjectNode) parent).set(last, value);
+            } else if (parent.isArray()) {
+                ArrayNode array = (ArrayNode) parent;
+                if ("-".equals(last)) {
+                    array.add(value);
+                } else {
+                    array.insert(arrayIndex(last, array.size(), path), value);
+                }
+            } else {
+                throw new RuntimeException("Cannot add to a value node at: " + path);
+            }
+            return root;
+        }
+        
+        private static JsonNode replace(JsonNode root, String[] tokens, String path, JsonNode value) {
+            if (tokens.length == 0) {
+                return value;
+            }
+            JsonNode parent = resolve(root, tokens, tokens.length - 1, path);
+            String last = tokens[tokens.length - 1];
+            if (parent.isObject() && parent.has(last)) {
+                // set() keeps the field in its original position
+                ((ObjectNode) parent).set(last, value);
+            } else if (parent.isArray()) {
+                ((ArrayNode) parent).set(arrayIndex(last, parent.size() - 1, path), value);
+            } else {
+                throw new RuntimeException("Path not found: " + path);
+            }
+            return root;
+        }
+        
+        private static void remove(JsonNode root, String[] tokens, String path) {
+            if (tokens.length == 0) {
+                throw new RuntimeException("Cannot remove the document root");
+            }
+            JsonNode parent = resolve(root, tokens, tokens.length - 1, path);
+            String last = tokens[tokens.length - 1];
+            if (parent.isObject()) {
+                if (((ObjectNode) parent).remove(last) == null) {
+                    throw new RuntimeException("Path not found: " + path);
+                }
+            } else if (parent.isArray()) {
+                ((ArrayNode) parent).remove(arrayIndex(last, parent.size() - 1, path));
+            } else {
+                throw new RuntimeException("Path not found: " + path);
+            }
+        }
+    }
+    
+    // =============== PAYLOAD VARIANTS ===============
+    
+    /**
+     * Immutable base document that payload variants are derived from.
+     * The base is converted to a tree once; each variant is a tree copy plus patch,
+     * with no re-parsing.
+     */
+    public static final class Template {
+        
+        private final JsonNode base;
+        
+        private Template(JsonNode base) {
+            this.base = base;
+        }
+        
+        /**
+         * Copy of the base document
+         */
+        public JsonNode base() {
+            return base.deepCopy();
+        }
+        
+        /**
+         * Base document with the patch applied
+         */
+        public JsonNode variant(JsonPatch patch) {
+            return patch.applyToCopy(base);
+        }
+        
+        /**
+         * Base document with a merge patch applied
+         */
+        public JsonNode mergeVariant(JsonNode mergePatch) {
+            return JsonPatch.mergePatch(base.deepCopy(), mergePatch);
+        }
+        
+        /**
+         * One variant per patch, keyed by the supplied description
+         */
+        public Map<String, JsonNode> variants(Map<String, JsonPatch> patches) {
+            Map<String, JsonNode> result = new LinkedHashMap<>();
+            patches.forEach((description, patch) -> result.put(description, variant(patch)));
+            return result;
+        }
+        
+        /**
+         * Every combination of field and replacement value, e.g. each required field set to
+         * null, "" and an oversized string, plus one variant per field with the field removed
+         */
+        public Map<String, JsonNode> fieldMutations(List<String> fields, List<Object> replacementValues) {
+            Map<String, JsonNode> result = new LinkedHashMap<>();
+            for (String field : fields) {
+                String pointer = "/" + field.replace("~", "~0").replace("/", "~1");
+                if (base.has(field)) {
+                    result.put("missing " + field, variant(create().remove(pointer)));
+                }
+                for (Object replacement : replacementValues) {
+                    result.put(field + " = " + describe(replacement), variant(create().add(pointer, replacement)));
+                }
+            }
+            return result;
+        }
+        
+        private static String describe(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            String text = value instanceof JsonNode ? value.toString() : String.valueOf(value);
+            return text.length() > 20 ? text.substring(0, 20) + "...(" + text.length() + " chars)" : "'" + text + "'";
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlead.automation.codegen.ModelCodecs;
+import com.testlead.automation.config.ConfigManager;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
@@ -25,6 +27,11 @@ public class JsonUtils {
         objectMapper = new ObjectMapper();
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        
+        // Compile-time generated codecs for the models; anything without one uses reflection
+        if (ConfigManager.getBoolean("serialization.generated.codecs", true)) {
+            objectMapper.registerModule(ModelCodecs.module());
+        }
     }
     
     /**
@@ -233,6 +240,40 @@ public class JsonUtils {
         }
     }
     
+    /**
+     * Apply a JSON patch with a single parse and serialize, however many operations it has.
+     * Prefer {@link JsonPatch#template(Object)} when building many variants of one payload.
+     */
+    public static String applyPatch(String json, JsonPatch patch) {
+        try {
+            JsonNode result = patch.apply(objectMapper.readTree(json));
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("Error applying JSON patch: {}", e.getMessage());
+            throw new RuntimeException("JSON patch failed", e);
+        }
+    }
+    
+    /**
+     * Apply an RFC 7396 merge patch (null values remove fields)
+     */
+    public static String applyMergePatch(String json, String mergePatch) {
+        try {
+            JsonNode result = JsonPatch.mergePatch(objectMapper.readTree(json), objectMapper.readTree(mergePatch));
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("Error applying JSON merge patch: {}", e.getMessage());
+            throw new RuntimeException("JSON merge patch failed", e);
+        }
+    }
+    
+    /**
+     * Convert a model object to a JSON tree without going through a String
+     */
+    public static JsonNode toJsonNode(Object object) {
+        return objectMapper.valueToTree(object);
+    }
+    
     /**
      * Get ObjectMapper instance for advanced operations
      */
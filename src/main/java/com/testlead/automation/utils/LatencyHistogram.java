@@ -0,0 +1,154 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, mergeable latency histogram in microseconds.
+ *
+ * Values below 64 have their own bucket; above that every power of two is split into
+ * 32 buckets, so any value is reported within about 3% of the recorded one. The size
+ * does not depend on the number of samples, which is what lets shards of very long
+ * runs be merged by simply adding the bucket counts.
+ * Recording is lock-free and safe from many threads.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record one latency in microseconds; negative values count as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Add all samples of another histogram to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount != 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        max.accumulate(other.max.get());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : (double) sum.sum() / samples;
+    }
+
+    /**
+     * Nearest-rank percentile, reported as the upper bound of its bucket (never above max)
+     */
+    public long percentile(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // =============== SERIALIZATION ===============
+
+    /**
+     * Write as a JSON object with sparse [bucket, count] pairs
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("count", count.sum());
+        generator.writeNumberField("sum", sum.sum());
+        generator.writeNumberField("max", max.get());
+        generator.writeArrayFieldStart("buckets");
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount != 0) {
+                generator.writeStartArray();
+                generator.writeNumber(i);
+                generator.writeNumber(bucketCount);
+                generator.writeEndArray();
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Read a histogram written by {@link #write(JsonGenerator)}
+     */
+    public static LatencyHistogram read(JsonNode node) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (JsonNode bucket : node.path("buckets")) {
+            int index = bucket.path(0).asInt();
+            if (index >= 0 && index < BUCKETS) {
+                histogram.counts.addAndGet(index, bucket.path(1).asLong());
+            }
+        }
+        histogram.count.add(node.path("count").asLong());
+        histogram.sum.add(node.path("sum").asLong());
+        histogram.max.accumulate(node.path("max").asLong());
+        return histogram;
+    }
+
+    // =============== BUCKETS ===============
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBound(int bucket) {
+        return bucket + 1 >= BUCKETS ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+}
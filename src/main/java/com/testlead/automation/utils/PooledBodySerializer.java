@@ -0,0 +1,178 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes request bodies straight into pooled byte buffers.
+ * Avoids the intermediate String RestAssured builds for POJO bodies, which
+ * matters for bulk payloads of thousands of products.
+ *
+ * Usage:
+ * <pre>
+ * try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(products)) {
+ *     return given(getRequestSpec()).body(body.asInputStream()).when().post("/products/bulk");
+ * }
+ * </pre>
+ */
+public class PooledBodySerializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PooledBodySerializer.class);
+    
+    private static final int POOL_SIZE = ConfigManager.getInt("serialization.buffer.pool.size", 16);
+    private static final int INITIAL_CAPACITY = ConfigManager.getInt("serialization.buffer.initial.bytes", 8 * 1024);
+    private static final int MAX_RETAINED_CAPACITY = ConfigManager.getInt("serialization.buffer.max.retained.bytes", 4 * 1024 * 1024);
+    
+    private static final BlockingQueue<ReusableBuffer> pool = new ArrayBlockingQueue<>(Math.max(1, POOL_SIZE));
+    
+    // Compact output - indentation only inflates the payload on the wire
+    private static final ObjectWriter writer = JsonUtils.getObjectMapper().writer()
+        .without(SerializationFeature.INDENT_OUTPUT);
+    
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong bufferAllocations = new AtomicLong();
+    private static final AtomicLong bytesSerialized = new AtomicLong();
+    
+    private PooledBodySerializer() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * Serialize object into a pooled buffer. The returned lease must be closed
+     * once the request has been sent so the buffer can be reused.
+     */
+    public static Lease serialize(Object body) {
+        ReusableBuffer buffer = pool.poll();
+        if (buffer == null) {
+            buffer = new ReusableBuffer(INITIAL_CAPACITY);
+            bufferAllocations.incrementAndGet();
+        }
+        leases.incrementAndGet();
+        
+        try {
+            writer.writeValue(buffer, body);
+        } catch (IOException e) {
+            release(buffer);
+            logger.error("Error serializing request body: {}", e.getMessage());
+            throw new RuntimeException("Request body serialization failed", e);
+        }
+        
+        bytesSerialized.addAndGet(buffer.size());
+        return new Lease(buffer);
+    }
+    
+    private static void release(ReusableBuffer buffer) {
+        // Oversized buffers are dropped so one huge bulk payload does not pin memory for the whole run
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            return;
+        }
+        buffer.reset();
+        pool.offer(buffer);
+    }
+    
+    /**
+     * Number of bodies serialized so far
+     */
+    public static long getLeaseCount() {
+        return leases.get();
+    }
+    
+    /**
+     * Number of buffers allocated because the pool was empty
+     */
+    public static long getBufferAllocationCount() {
+        return bufferAllocations.get();
+    }
+    
+    /**
+     * Total bytes written into pooled buffers
+     */
+    public static long getBytesSerialized() {
+        return bytesSerialized.get();
+    }
+    
+    /**
+     * Log pool statistics
+     */
+    public static void logStatistics() {
+        logger.info("Body serialization - leases: {}, buffer allocations: {}, bytes: {}, pooled buffers: {}",
+            leases.get(), bufferAllocations.get(), bytesSerialized.get(), pool.size());
+    }
+    
+    /**
+     * Serialized body backed by a pooled buffer
+     */
+    public static final class Lease implements AutoCloseable {
+        
+        private ReusableBuffer buffer;
+        
+        private Lease(ReusableBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        /**
+         * Stream over the serialized bytes without copying them
+         */
+        public InputStream asInputStream() {
+            return buffer().asInputStream();
+        }
+        
+        /**
+         * Copy of the serialized bytes
+         */
+        public byte[] toByteArray() {
+            return buffer().toByteArray();
+        }
+        
+        /**
+         * Serialized size in bytes
+         */
+        public int size() {
+            return buffer().size();
+        }
+        
+        private ReusableBuffer buffer() {
+            if (buffer == null) {
+                throw new IllegalStateException("Lease has already been released");
+            }
+            return buffer;
+        }
+        
+        @Override
+        public void close() {
+            if (buffer != null) {
+                release(buffer);
+                buffer = null;
+            }
+        }
+    }
+    
+    /**
+     * ByteArrayOutputStream exposing its internal array for zero-copy reads
+     */
+    private static final class ReusableBuffer extends ByteArrayOutputStream {
+        
+        ReusableBuffer(int initialCapacity) {
+            super(initialCapacity);
+        }
+        
+        int capacity() {
+            return buf.length;
+        }
+        
+        InputStream asInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.Status;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * One reporting call, captured on the test thread and handed to the report writer.
+ * Events only hold the raw values; sinks turn them into HTML or whatever they write.
+ */
+public class ReportEvent {
+    
+    public enum Type {
+        START_TEST, LOG, EXCEPTION, API_REQUEST, API_RESPONSE, CATEGORY, AUTHOR, SCREENSHOT, END_TEST, BARRIER
+    }
+    
+    private final Type type;
+    private final long testId;
+    private final long timestamp;
+    private Status status;
+    private String name;
+    private String description;
+    private Throwable throwable;
+    private String method;
+    private String url;
+    private String body;
+    private String headers;
+    private int statusCode;
+    private long responseTime;
+    private CountDownLatch latch;
+    private boolean flush;
+    
+    private ReportEvent(Type type, long testId) {
+        this.type = type;
+        this.testId = testId;
+        this.timestamp = System.currentTimeMillis();
+    }
+    
+    public static ReportEvent startTest(long testId, String name, String description) {
+        ReportEvent event = new ReportEvent(Type.START_TEST, testId);
+        event.name = name;
+        event.description = description;
+        return event;
+    }
+    
+    public static ReportEvent log(long testId, Status status, String message) {
+        ReportEvent event = new ReportEvent(Type.LOG, testId);
+        event.status = status;
+        event.description = message;
+        return event;
+    }
+    
+    public static ReportEvent exception(long testId, Status status, Throwable throwable) {
+        ReportEvent event = new ReportEvent(Type.EXCEPTION, testId);
+        event.status = status;
+        event.throwable = throwable;
+        return event;
+    }
+    
+    public static ReportEvent apiRequest(long testId, String method, String url, String body, String headers) {
+        ReportEvent event = new ReportEvent(Type.API_REQUEST, testId);
+        event.status = Status.INFO;
+        event.method = method;
+        event.url = url;
+        event.body = body;
+        event.headers = headers;
+        return event;
+    }
+    
+    public static ReportEvent apiResponse(long testId, int statusCode, String body, long responseTime, String headers) {
+        ReportEvent event = new ReportEvent(Type.API_RESPONSE, testId);
+        event.status = statusCode >= 200 && statusCode < 300 ? Status.PASS : Status.FAIL;
+        event.statusCode = statusCode;
+        event.body = body;
+        event.responseTime = responseTime;
+        event.headers = headers;
+        return event;
+    }
+    
+    public static ReportEvent category(long testId, String category) {
+        ReportEvent event = new ReportEvent(Type.CATEGORY, testId);
+        event.name = category;
+        return event;
+    }
+    
+    public static ReportEvent author(long testId, String author) {
+        ReportEvent event = new ReportEvent(Type.AUTHOR, testId);
+        event.name = author;
+        return event;
+    }
+    
+    public static ReportEvent screenshot(long testId, String path) {
+        ReportEvent event = new ReportEvent(Type.SCREENSHOT, testId);
+        event.name = path;
+        return event;
+    }
+    
+    /**
+     * End of a test; status is its outcome, or null if unknown
+     */
+    public static ReportEvent endTest(long testId, Status status) {
+        ReportEvent event = new ReportEvent(Type.END_TEST, testId);
+        event.status = status;
+        return event;
+    }
+    
+    /**
+     * Marker released once every earlier event has been written; optionally flushes the sinks
+     */
+    public static ReportEvent barrier(boolean flush) {
+        ReportEvent event = new ReportEvent(Type.BARRIER, 0);
+        event.latch = new CountDownLatch(1);
+        event.flush = flush;
+        return event;
+    }
+    
+    public Type getType() { return type; }
+    public long getTestId() { return testId; }
+    public long getTimestamp() { return timestamp; }
+    public Status getStatus() { return status; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public Throwable getThrowable() { return throwable; }
+    public String getMethod() { return method; }
+    public String getUrl() { return url; }
+    public String getBody() { return body; }
+    public String getHeaders() { return headers; }
+    public int getStatusCode() { return statusCode; }
+    public long getResponseTime() { return responseTime; }
+    public boolean isFlush() { return flush; }
+    
+    CountDownLatch getLatch() { return latch; }
+}
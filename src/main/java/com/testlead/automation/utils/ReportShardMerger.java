@@ -0,0 +1,373 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Combines the {@link ReportShardSink} shards of several JVMs or containers into one report.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/classes:... com.testlead.automation.utils.ReportShardMerger reports/merged \
+ *     reports/shards [more shard or shard root directories...] [--html reports/merged/TestReport.html]
+ * </pre>
+ *
+ * Output directory:
+ * <pre>
+ * tests.jsonl       all tests in the spill format, each tagged with its shard as a category
+ *                   (replayable with {@link ReportSpillMerger})
+ * allure-results/   one Allure result file per test plus environment.properties
+ *                   (allure generate reports/merged/allure-results)
+ * summary.json      per-shard and total outcome counts, merged per-endpoint latency histograms
+ * </pre>
+ *
+ * Tests are streamed one line at a time, so memory depends on the number of endpoints, not
+ * on the number of tests. Only --html builds Extent's in-memory model of the whole run.
+ */
+public class ReportShardMerger {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    private final Path outputDirectory;
+    private final Path allureDirectory;
+    private final Map<String, LatencyHistogram> latency = new TreeMap<>();
+    private final Map<String, Long> outcomes = new TreeMap<>();
+    private final Map<String, Map<String, Long>> shardOutcomes = new LinkedHashMap<>();
+    private final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private long tests;
+    private long malformed;
+    private long start = Long.MAX_VALUE;
+    private long end;
+
+    public ReportShardMerger(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+        this.allureDirectory = outputDirectory.resolve("allure-results");
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        String html = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--html".equals(args[i]) && i + 1 < args.length) {
+                html = args[++i];
+            } else {
+                inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (args.length == 0 || inputs.isEmpty()) {
+            System.err.println("Usage: ReportShardMerger <output-dir> <shard-dir|shards-root> [...] [--html <report.html>]");
+            System.exit(1);
+        }
+        ReportShardMerger merger = new ReportShardMerger(Paths.get(args[0]));
+        List<Path> shards = findShards(inputs);
+        merger.merge(shards);
+        if (html != null) {
+            merger.writeHtml(html);
+        }
+        System.out.println("Merged " + merger.tests + " tests from " + shards.size() + " shard(s) into "
+            + merger.outputDirectory + (merger.malformed > 0 ? " (" + merger.malformed + " malformed lines skipped)" : ""));
+    }
+
+    /**
+     * Shard directories among the inputs: a directory with shard.json or tests.jsonl is a shard,
+     * otherwise its subdirectories are searched (one level)
+     */
+    public static List<Path> findShards(List<Path> inputs) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        for (Path input : inputs) {
+            if (isShard(input)) {
+                shards.add(input);
+                continue;
+            }
+            if (!Files.isDirectory(input)) {
+                System.err.println("Not a shard directory: " + input);
+                continue;
+            }
+            List<Path> found = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(input, Files::isDirectory)) {
+                for (Path child : children) {
+                    if (isShard(child)) {
+                        found.add(child);
+                    }
+                }
+            }
+            Collections.sort(found);
+            shards.addAll(found);
+        }
+        return shards;
+    }
+
+    /**
+     * Stream all shards into the output directory
+     */
+    public void merge(List<Path> shards) throws IOException {
+        Files.createDirectories(allureDirectory);
+        try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve(ReportShardSink.TESTS_FILE), StandardCharsets.UTF_8)) {
+            for (Path shard : shards) {
+                mergeShard(shard, writer);
+            }
+        }
+        writeSummary();
+        writeAllureEnvironment();
+    }
+
+    /**
+     * Build the Extent HTML report from the merged tests (holds the whole run in memory)
+     */
+    public void writeHtml(String reportPath) throws IOException {
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(ReportUtils.createSparkReporter(reportPath));
+        for (Map.Entry<String, String> entry : systemInfo.entrySet()) {
+            extent.setSystemInfo(entry.getKey(), entry.getValue());
+        }
+        extent.setSystemInfo("Shards", String.join(", ", shardOutcomes.keySet()));
+        ReportSpillSink.replay(outputDirectory.resolve(ReportShardSink.TESTS_FILE), extent, 0);
+        extent.flush();
+    }
+
+    public long getTests() {
+        return tests;
+    }
+
+    public Map<String, LatencyHistogram> getLatency() {
+        return latency;
+    }
+
+    // =============== SHARDS ===============
+
+    private void mergeShard(Path shard, Writer writer) throws IOException {
+        String shardId = shard.getFileName().toString();
+        Path shardFile = shard.resolve(ReportShardSink.SHARD_FILE);
+        if (Files.exists(shardFile)) {
+            // Missing after a crash before the first flush; the tests are still usable
+            JsonNode info = JsonUtils.getObjectMapper().readTree(shardFile.toFile());
+            shardId = info.path("shard").asText(shardId);
+            start = Math.min(start, info.path("start").asLong(Long.MAX_VALUE));
+            end = Math.max(end, info.path("end").asLong());
+            info.path("systemInfo").fields().forEachRemaining(entry -> systemInfo.putIfAbsent(entry.getKey(), entry.getValue().asText()));
+            info.path("latency").fields().forEachRemaining(entry ->
+                latency.computeIfAbsent(entry.getKey(), k -> new LatencyHistogram()).add(LatencyHistogram.read(entry.getValue())));
+        }
+        Map<String, Long> counts = shardOutcomes.computeIfAbsent(shardId, k -> new TreeMap<>());
+
+        Path testsFile = shard.resolve(ReportShardSink.TESTS_FILE);
+        if (!Files.exists(testsFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(testsFile, StandardCharsets.UTF_8)) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (json.isEmpty()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = JsonUtils.getObjectMapper().readTree(json);
+                } catch (IOException e) {
+                    // A crashed shard can end with a partial line
+                    malformed++;
+                    continue;
+                }
+                if (!node.isObject()) {
+                    malformed++;
+                    continue;
+                }
+                ObjectNode test = (ObjectNode) node;
+                JsonNode categories = test.path("categories");
+                ArrayNode tagged = categories.isArray() ? (ArrayNode) categories : test.putArray("categories");
+                tagged.add(shardId);
+                test.put("shard", shardId);
+
+                writer.write(JsonUtils.getObjectMapper().writeValueAsString(test));
+                writer.write('\n');
+                writeAllureResult(test, shardId);
+
+                String outcome = test.path("status").asText("UNKNOWN");
+                counts.merge(outcome, 1L, Long::sum);
+                outcomes.merge(outcome, 1L, Long::sum);
+                tests++;
+            }
+        }
+    }
+
+    private static boolean isShard(Path directory) {
+        return Files.exists(directory.resolve(ReportShardSink.SHARD_FILE))
+            || Files.exists(directory.resolve(ReportShardSink.TESTS_FILE));
+    }
+
+    // =============== OUTPUT ===============
+
+    private void writeAllureResult(JsonNode test, String shardId) throws IOException {
+        String uuid = UUID.randomUUID().toString();
+        String className = test.path("description").asText("");
+        String name = test.path("name").asText();
+        String status = allureStatus(test.path("status").asText(null));
+
+        try (Writer writer = Files.newBufferedWriter(allureDirectory.resolve(uuid + "-result.json"), StandardCharsets.UTF_8);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringField("uuid", uuid);
+            generator.writeStringField("historyId", Integer.toHexString((className + "." + name).hashCode()));
+            generator.writeStringField("name", name);
+            generator.writeStringField("fullName", className.isEmpty() ? name : className + "." + name);
+            generator.writeStringField("status", status);
+            generator.writeStringField("stage", "finished");
+            generator.writeNumberField("start", test.path("start").asLong());
+            generator.writeNumberField("stop", test.path("end").asLong());
+
+            StringBuilder details = new StringBuilder();
+            String failure = null;
+            for (JsonNode log : test.path("logs")) {
+                String text = log.path("details").asText();
+                details.append("<div><b>").append(log.path("status").asText()).append("</b> ").append(text).append("</div>");
+                if ("FAIL".equals(log.path("status").asText())) {
+                    failure = text;
+                }
+            }
+            generator.writeStringField("descriptionHtml", details.toString());
+            if (failure != null) {
+                generator.writeObjectFieldStart("statusDetails");
+                generator.writeStringField("message", failure);
+                generator.writeEndObject();
+            }
+
+            generator.writeArrayFieldStart("labels");
+            writeLabel(generator, "host", shardId);
+            if (!className.isEmpty()) {
+                writeLabel(generator, "suite", className);
+                writeLabel(generator, "testClass", className);
+            }
+            for (JsonNode category : test.path("categories")) {
+                writeLabel(generator, "tag", category.asText());
+            }
+            for (JsonNode author : test.path("authors")) {
+                writeLabel(generator, "owner", author.asText());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeLabel(JsonGenerator generator, String name, String value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", name);
+        generator.writeStringField("value", value);
+        generator.writeEndObject();
+    }
+
+    private static String allureStatus(String status) {
+        if (status == null) {
+            return "unknown";
+        }
+        switch (status) {
+            case "PASS":
+            case "WARNING":
+                return "passed";
+            case "FAIL":
+                return "failed";
+            case "SKIP":
+                return "skipped";
+            default:
+                return "unknown";
+        }
+    }
+
+    private void writeSummary() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve("summary.json"), StandardCharsets.UTF_8);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeNumberField("tests", tests);
+            if (start != Long.MAX_VALUE) {
+                generator.writeNumberField("start", start);
+                generator.writeNumberField("end", end);
+            }
+            writeCounts(generator, "outcomes", outcomes);
+            generator.writeObjectFieldStart("shards");
+            for (Map.Entry<String, Map<String, Long>> shard : shardOutcomes.entrySet()) {
+                writeCounts(generator, shard.getKey(), shard.getValue());
+            }
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("latency");
+            for (Map.Entry<String, LatencyHistogram> entry : latency.entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                generator.writeObjectFieldStart(entry.getKey());
+                generator.writeNumberField("count", histogram.getCount());
+                generator.writeNumberField("meanMicros", Math.round(histogram.getMean()));
+                for (double percentile : PERCENTILES) {
+                    generator.writeNumberField("p" + (int) percentile + "Micros", histogram.percentile(percentile));
+                }
+                generator.writeNumberField("maxMicros", histogram.getMax());
+                generator.writeFieldName("histogram");
+                histogram.write(generator);
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeCounts(JsonGenerator generator, String field, Map<String, Long> counts) throws IOException {
+        generator.writeObjectFieldStart(field);
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            generator.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeAllureEnvironment() throws IOException {
+        // Shown on the Allure overview page
+        StringBuilder properties = new StringBuilder();
+        for (Map.Entry<String, String> entry : systemInfo.entrySet()) {
+            appendProperty(properties, entry.getKey(), entry.getValue());
+        }
+        appendProperty(properties, "Shards", String.join(", ", shardOutcomes.keySet()));
+        for (Map.Entry<String, LatencyHistogram> entry : latency.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            appendProperty(properties, "Latency " + entry.getKey(), String.format("n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                histogram.getCount(), histogram.percentile(50) / 1000.0, histogram.percentile(95) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.getMax() / 1000.0));
+        }
+        Files.write(allureDirectory.resolve("environment.properties"), properties.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static void appendProperty(StringBuilder properties, String key, String value) {
+        properties.append(escapeProperty(key, true)).append('=').append(escapeProperty(value, false)).append('\n');
+    }
+
+    private static String escapeProperty(String text, boolean key) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '\\' || (key && (c == ' ' || c == '=' || c == ':'))) {
+                escaped.append('\\').append(c);
+            } else if (c > 0x7e || c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the result shard of this JVM, so suites split across several JVMs or containers
+ * can be combined afterwards with {@link ReportShardMerger}.
+ *
+ * Layout of one shard (reports/shards/&lt;shard id&gt;):
+ * <pre>
+ * tests.jsonl   one completed test per line, in the {@link ReportSpillSink} format
+ * shard.json    shard id, host, start/end, system info, outcome counts and per-endpoint
+ *               latency histograms ({@link EndpointLatencyFilter}), rewritten at every flush
+ * </pre>
+ *
+ * Enable with report.shard.enabled=true or by setting REPORT_SHARD_ID for the container;
+ * the shard id defaults to &lt;host&gt;-&lt;pid&gt;.
+ */
+public class ReportShardSink implements ReportSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportShardSink.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    static final String TESTS_FILE = "tests.jsonl";
+    static final String SHARD_FILE = "shard.json";
+    static final int FORMAT_VERSION = 1;
+
+    private static final boolean ENABLED =
+        ConfigManager.getBoolean("report.shard.enabled", false) || System.getenv("REPORT_SHARD_ID") != null;
+
+    private final String shardId;
+    private final Path directory;
+    private final ReportSpillSink tests;
+    private final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private final Map<Status, Long> outcomes = new EnumMap<>(Status.class);
+    private final long started = System.currentTimeMillis();
+
+    public ReportShardSink(Path shardsDirectory, String shardId) {
+        this.shardId = shardId;
+        this.directory = shardsDirectory.resolve(shardId);
+        this.tests = new ReportSpillSink(null, directory.resolve(TESTS_FILE));
+        logger.info("Report shard {} is written to {}", shardId, directory);
+    }
+
+    /**
+     * True when this JVM should write a report shard
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Shard id from report.shard.id or REPORT_SHARD_ID, else &lt;host&gt;-&lt;pid&gt;
+     */
+    public static String defaultShardId() {
+        String id = ConfigManager.get("report.shard.id", System.getenv("REPORT_SHARD_ID"));
+        if (id == null || id.trim().isEmpty()) {
+            id = hostName() + "-" + ProcessHandle.current().pid();
+        }
+        // The id becomes a directory name
+        return id.trim().replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    public String getShardId() {
+        return shardId;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Record a system info entry (OS, Java version, environment...) in shard.json
+     */
+    public void setSystemInfo(String name, String value) {
+        systemInfo.put(name, value);
+    }
+
+    @Override
+    public void onEvent(ReportEvent event) {
+        tests.onEvent(event);
+        if (event.getType() == ReportEvent.Type.END_TEST && event.getStatus() != null) {
+            outcomes.merge(event.getStatus(), 1L, Long::sum);
+        }
+    }
+
+    @Override
+    public void flush() {
+        tests.flush();
+        try {
+            writeShardFile();
+        } catch (IOException e) {
+            logger.error("Failed to write report shard file in {}", directory, e);
+        }
+    }
+
+    private void writeShardFile() throws IOException {
+        // Write then rename, so a merge never reads a half-written shard.json
+        Path target = directory.resolve(SHARD_FILE);
+        Path temp = directory.resolve(SHARD_FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("shard", shardId);
+            generator.writeStringField("host", hostName());
+            generator.writeNumberField("start", started);
+            generator.writeNumberField("end", System.currentTimeMillis());
+            generator.writeNumberField("tests", tests.getTestsSpilled());
+
+            generator.writeObjectFieldStart("systemInfo");
+            for (Map.Entry<String, String> entry : systemInfo.entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("outcomes");
+            for (Map.Entry<Status, Long> entry : outcomes.entrySet()) {
+                generator.writeNumberField(entry.getKey().name(), entry.getValue());
+            }
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("latency");
+            for (Map.Entry<String, LatencyHistogram> entry : EndpointLatencyFilter.getHistograms().entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                entry.getValue().write(generator);
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown-host";
+        }
+    }
+}
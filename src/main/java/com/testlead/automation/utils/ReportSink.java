@@ -0,0 +1,21 @@
+package com.testlead.automation.utils;
+
+/**
+ * Destination for report events. onEvent and flush are only called from the single report
+ * writer thread (or under the ReportUtils lock when async reporting is off), so writes need no
+ * synchronization of their own. State a sink exposes to other threads (such as
+ * ExtentReportSink.getTest, read from test threads) must be published through a thread-safe
+ * structure. Events of one test arrive in the order they were logged.
+ */
+public interface ReportSink {
+    
+    /**
+     * Write one event
+     */
+    void onEvent(ReportEvent event);
+    
+    /**
+     * Persist everything written so far
+     */
+    void flush();
+}
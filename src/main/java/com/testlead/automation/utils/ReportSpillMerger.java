@@ -0,0 +1,50 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Rebuilds the HTML report from {@link ReportSpillSink} files, e.g. after a run crashed
+ * before the final flush.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/classes:... com.testlead.automation.utils.ReportSpillMerger reports/TestReport.html \
+ *     reports/spill/TestReport_2024-01-01_10-00-00.jsonl [more spill files...]
+ * </pre>
+ */
+public class ReportSpillMerger {
+    
+    private ReportSpillMerger() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportSpillMerger <output.html> <spill.jsonl> [<spill.jsonl>...]");
+            System.exit(1);
+        }
+        Path[] spillFiles = new Path[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            spillFiles[i - 1] = Paths.get(args[i]);
+        }
+        merge(args[0], spillFiles);
+    }
+    
+    /**
+     * Write one HTML report containing the tests of all spill files
+     */
+    public static void merge(String reportPath, Path... spillFiles) throws IOException {
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(ReportUtils.createSparkReporter(reportPath));
+        long tests = 0;
+        for (Path spillFile : spillFiles) {
+            tests += ReportSpillSink.replay(spillFile, extent, 0);
+        }
+        extent.flush();
+        System.out.println("Merged " + tests + " tests from " + spillFiles.length + " spill file(s) into " + reportPath);
+    }
+}
@@ -0,0 +1,278 @@
+package com.testlead.automation.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report sink for long runs. Only tests that are still running are kept in memory;
+ * each completed test is written as one JSON line to a spill file and released.
+ * Extent only sees the tests when the spill file is merged at {@link #flush()},
+ * so heap use stays flat while tests run and a crash keeps every completed test
+ * (rebuild the HTML with {@link ReportSpillMerger}).
+ *
+ * The merge itself is not bounded: Extent builds its HTML from an in-memory model, so
+ * at the final flush every spilled test is loaded and peak heap is the same as without
+ * spilling, only reached at the end of the run. That is why ReportUtils only merges in the
+ * test JVM with report.incremental.merge=true; by default ReportSpillMerger builds the HTML
+ * from the spill file in a separate JVM after the suite.
+ *
+ * Without an ExtentReports the sink only writes the file; report shards and the default
+ * incremental mode use it that way.
+ */
+public class ReportSpillSink implements ReportSink {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportSpillSink.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private final ExtentReports extent;
+    private final Path spillFile;
+    private final Writer writer;
+    private final JsonGenerator generator;
+    private final Map<Long, SpilledTest> running = new HashMap<>();
+    private long testsSpilled;
+    private long testsMerged;
+    
+    public ReportSpillSink(ExtentReports extent, Path spillFile) {
+        this.extent = extent;
+        this.spillFile = spillFile;
+        try {
+            Files.createDirectories(spillFile.toAbsolutePath().getParent());
+            this.writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            logger.error("Failed to open report spill file {}", spillFile, e);
+            throw new RuntimeException("Failed to open report spill file: " + spillFile, e);
+        }
+        logger.info("Completed tests are spilled to {}", spillFile);
+    }
+    
+    public Path getSpillFile() {
+        return spillFile;
+    }
+    
+    /**
+     * Completed tests written to the spill file
+     */
+    public long getTestsSpilled() {
+        return testsSpilled;
+    }
+    
+    @Override
+    public void onEvent(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.START_TEST) {
+            running.put(event.getTestId(), new SpilledTest(event));
+            return;
+        }
+        SpilledTest test = event.getType() == ReportEvent.Type.END_TEST
+            ? running.remove(event.getTestId())
+            : running.get(event.getTestId());
+        if (test == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case LOG:
+                test.log(event.getStatus(), event.getDescription());
+                break;
+            case EXCEPTION:
+                test.log(event.getStatus(), stackTraceHtml(event.getThrowable()));
+                break;
+            case API_REQUEST:
+                test.log(event.getStatus(), ExtentReportSink.requestHtml(event));
+                break;
+            case API_RESPONSE:
+                test.log(event.getStatus(), ExtentReportSink.responseHtml(event));
+                break;
+            case CATEGORY:
+                test.categories.add(event.getName());
+                break;
+            case AUTHOR:
+                test.authors.add(event.getName());
+                break;
+            case SCREENSHOT:
+                test.screenshots.add(event.getName());
+                break;
+            case END_TEST:
+                test.end = event.getTimestamp();
+                test.result = event.getStatus();
+                spill(test);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Merge tests spilled since the last flush into Extent and write the report.
+     * Merged tests stay in the Extent model, so heap grows with the tests merged so far.
+     */
+    @Override
+    public void flush() {
+        try {
+            generator.flush();
+            if (extent == null) {
+                return;
+            }
+            testsMerged += replay(spillFile, extent, testsMerged);
+        } catch (IOException e) {
+            logger.error("Failed to merge report spill file {}", spillFile, e);
+        }
+        extent.flush();
+        logger.info("Report spill: {} tests written, {} merged, {} still running", testsSpilled, testsMerged, running.size());
+    }
+    
+    /**
+     * Create Extent tests for the spilled lines after the first skip lines
+     *
+     * @return number of lines read after skip, including malformed ones
+     */
+    public static long replay(Path spillFile, ExtentReports extent, long skip) throws IOException {
+        long line = 0;
+        long read = 0;
+        try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (line++ < skip) {
+                    continue;
+                }
+                read++;
+                if (json.isEmpty()) {
+                    continue;
+                }
+                try {
+                    replayTest(JsonUtils.getObjectMapper().readTree(json), extent);
+                } catch (IOException e) {
+                    // A crashed run can leave a partial last line
+                    logger.warn("Skipping malformed line {} in {}: {}", line, spillFile, e.getMessage());
+                }
+            }
+        }
+        return read;
+    }
+    
+    // =============== SPILL FORMAT ===============
+    
+    private void spill(SpilledTest test) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("name", test.name);
+            generator.writeStringField("description", test.description);
+            generator.writeNumberField("start", test.start);
+            generator.writeNumberField("end", test.end);
+            if (test.result != null) {
+                generator.writeStringField("status", test.result.name());
+            }
+            writeArray("categories", test.categories);
+            writeArray("authors", test.authors);
+            writeArray("screenshots", test.screenshots);
+            generator.writeArrayFieldStart("logs");
+            for (int i = 0; i < test.statuses.size(); i++) {
+                generator.writeStartObject();
+                generator.writeStringField("status", test.statuses.get(i).name());
+                generator.writeStringField("details", test.details.get(i));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            // One write per completed test keeps the file usable after a crash
+            generator.flush();
+            testsSpilled++;
+        } catch (IOException e) {
+            logger.error("Failed to spill test {} to {}", test.name, spillFile, e);
+        }
+    }
+    
+    private void writeArray(String field, List<String> values) throws IOException {
+        if (values.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+    
+    private static void replayTest(JsonNode node, ExtentReports extent) {
+        ExtentTest test = extent.createTest(node.path("name").asText(), node.path("description").asText(null));
+        for (JsonNode category : node.path("categories")) {
+            test.assignCategory(category.asText());
+        }
+        for (JsonNode author : node.path("authors")) {
+            test.assignAuthor(author.asText());
+        }
+        for (JsonNode log : node.path("logs")) {
+            test.log(Status.valueOf(log.path("status").asText("INFO")), log.path("details").asText());
+        }
+        for (JsonNode screenshot : node.path("screenshots")) {
+            try {
+                test.addScreenCaptureFromPath(screenshot.asText());
+            } catch (Exception e) {
+                logger.error("Failed to add screenshot to report", e);
+            }
+        }
+        if (node.hasNonNull("status")) {
+            ExtentReportSink.applyResult(test, Status.valueOf(node.get("status").asText()));
+        }
+        // Keep the original timings rather than the replay time
+        test.getModel().setStartTime(new Date(node.path("start").asLong()));
+        test.getModel().setEndTime(new Date(node.path("end").asLong()));
+    }
+    
+    private static String stackTraceHtml(Throwable throwable) {
+        if (throwable == null) {
+            return "";
+        }
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        String escaped = trace.toString().replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        return "<pre>" + escaped + "</pre>";
+    }
+    
+    private static class SpilledTest {
+        private final String name;
+        private final String description;
+        private final long start;
+        private long end;
+        private Status result;
+        private final List<Status> statuses = new ArrayList<>();
+        private final List<String> details = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>(2);
+        private final List<String> authors = new ArrayList<>(1);
+        private final List<String> screenshots = new ArrayList<>(1);
+        
+        SpilledTest(ReportEvent start) {
+            this.name = start.getName();
+            this.description = start.getDescription();
+            this.start = start.getTimestamp();
+        }
+        
+        void log(Status status, String message) {
+            statuses.add(status);
+            details.add(message);
+        }
+    }
+}
@@ -11,53 +11,125 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Utility class for test reporting
+ *
+ * Reporting calls only enqueue a {@link ReportEvent} on a lock-free queue; a single writer
+ * thread builds the HTML and feeds ExtentReports and any other registered {@link ReportSink}.
+ * Test threads therefore never contend on Extent's internal locks. Events of one test keep
+ * their order because a test logs from one thread and the queue is FIFO.
+ * Set report.async.enabled=false to write on the calling thread instead. Callers only wait
+ * when report.queue.max.events are already pending.
  */
 public class ReportUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(ReportUtils.class);
     private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static ExtentReportSink extentSink;
+    private static String unmergedReportPath;
+    private static Path unmergedSpillFile;
+    private static boolean initialized;
+    private static ThreadLocal<Long> test = new ThreadLocal<>();
     private static final String REPORTS_PATH = "reports";
     
+    private static volatile boolean asyncEnabled = ConfigManager.getBoolean("report.async.enabled", true);
+    private static final long MAX_PENDING = Math.max(1, ConfigManager.getLong("report.queue.max.events", 100_000L));
+    private static final List<ReportSink> sinks = new CopyOnWriteArrayList<>();
+    private static final Queue<ReportEvent> events = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong pending = new AtomicLong();
+    private static final AtomicLong testIds = new AtomicLong();
+    private static volatile Thread writer;
+    private static volatile boolean writerIdle;
+    
+    // Time test threads spend inside reporting calls
+    private static final LongAdder callerNanos = new LongAdder();
+    private static final LongAdder callerCalls = new LongAdder();
+    private static final LongAdder eventsWritten = new LongAdder();
+    
     /**
      * Initialize ExtentReports
      */
-    public static void initializeReport() {
-        if (extent == null) {
+    public static synchronized void initializeReport() {
+        if (!initialized) {
+            initialized = true;
             createReportsDirectory();
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            String reportPath = REPORTS_PATH + "/TestReport_" + timestamp + ".html";
-            
-            ExtentSparkReporter htmlReporter = new ExtentSparkReporter(reportPath);
-            htmlReporter.config().setDocumentTitle("API Test Automation Report");
-            htmlReporter.config().setReportName("API Testing Results");
-            htmlReporter.config().setTheme(Theme.STANDARD);
-            htmlReporter.config().setEncoding("utf-8");
-            
-            extent = new ExtentReports();
-            extent.attachReporter(htmlReporter);
             
-            // System information
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("User", System.getProperty("user.name"));
-            extent.setSystemInfo("Environment", ConfigManager.get("base.url", "Not specified"));
-            
-            logger.info("ExtentReports initialized. Report will be generated at: {}", reportPath);
+            if (StreamingResultWriter.isExtentEnabled()
+                    && ConfigManager.getBoolean("report.incremental.enabled", false)
+                    && !ConfigManager.getBoolean("report.incremental.merge", false)) {
+                // Long runs: completed tests only go to disk; ReportSpillMerger builds the HTML in its own JVM,
+                // so loading every test into Extent can't exhaust this heap at the end of the suite
+                unmergedReportPath = REPORTS_PATH + "/TestReport_" + timestamp + ".html";
+                ReportSpillSink spill = new ReportSpillSink(null, Paths.get(REPORTS_PATH, "spill", "TestReport_" + timestamp + ".jsonl"));
+                unmergedSpillFile = spill.getSpillFile();
+                sinks.add(spill);
+                logger.info("ExtentReports not built in this JVM (report.incremental.merge=false)");
+            } else if (StreamingResultWriter.isExtentEnabled()) {
+                String reportPath = REPORTS_PATH + "/TestReport_" + timestamp + ".html";
+                
+                extent = new ExtentReports();
+                extent.attachReporter(createSparkReporter(reportPath));
+                
+                // System information
+                extent.setSystemInfo("OS", System.getProperty("os.name"));
+                extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+                extent.setSystemInfo("User", System.getProperty("user.name"));
+                extent.setSystemInfo("Environment", ConfigManager.get("base.url", "Not specified"));
+                
+                if (ConfigManager.getBoolean("report.incremental.enabled", false)) {
+                    // report.incremental.merge=true: completed tests go to disk and are merged into the HTML at flush
+                    sinks.add(new ReportSpillSink(extent, Paths.get(REPORTS_PATH, "spill", "TestReport_" + timestamp + ".jsonl")));
+                } else {
+                    extentSink = new ExtentReportSink(extent);
+                    sinks.add(extentSink);
+                }
+                logger.info("ExtentReports initialized. Report will be generated at: {}", reportPath);
+            } else {
+                // report.writer=stream: TestListener streams results, no Extent model is built
+                logger.info("ExtentReports disabled (report.writer=stream)");
+            }
+
+            if (ReportShardSink.isEnabled()) {
+                // Parallel JVMs/containers: each writes a shard, ReportShardMerger combines them
+                ReportShardSink shard = new ReportShardSink(Paths.get(REPORTS_PATH, "shards"), ReportShardSink.defaultShardId());
+                shard.setSystemInfo("OS", System.getProperty("os.name"));
+                shard.setSystemInfo("Java Version", System.getProperty("java.version"));
+                shard.setSystemInfo("User", System.getProperty("user.name"));
+                shard.setSystemInfo("Environment", ConfigManager.get("base.url", "Not specified"));
+                sinks.add(shard);
+            }
         }
     }
     
+    /**
+     * Register an additional report destination
+     */
+    public static void addSink(ReportSink sink) {
+        sinks.add(sink);
+    }
+    
     /**
      * Create test in report
      */
     public static void createTest(String testName, String description) {
-        ExtentTest extentTest = extent.createTest(testName, description);
-        test.set(extentTest);
+        long start = System.nanoTime();
+        long testId = testIds.incrementAndGet();
+        test.set(testId);
+        publish(ReportEvent.startTest(testId, testName, description), start);
         logger.debug("Test created in report: {}", testName);
     }
     
@@ -65,9 +137,7 @@ public class ReportUtils {
      * Log info message
      */
     public static void logInfo(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.INFO, message);
-        }
+        log(Status.INFO, message);
         logger.info(message);
     }
     
@@ -75,9 +145,7 @@ public class ReportUtils {
      * Log pass message
      */
     public static void logPass(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.PASS, message);
-        }
+        log(Status.PASS, message);
         logger.info("PASS: {}", message);
     }
     
@@ -85,9 +153,7 @@ public class ReportUtils {
      * Log fail message
      */
     public static void logFail(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.FAIL, message);
-        }
+        log(Status.FAIL, message);
         logger.error("FAIL: {}", message);
     }
     
@@ -95,9 +161,11 @@ public class ReportUtils {
      * Log fail message with exception
      */
     public static void logFail(String message, Throwable exception) {
-        if (test.get() != null) {
-            test.get().log(Status.FAIL, message);
-            test.get().log(Status.FAIL, exception);
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.log(testId, Status.FAIL, message), start);
+            publish(ReportEvent.exception(testId, Status.FAIL, exception), System.nanoTime());
         }
         logger.error("FAIL: {}", message, exception);
     }
@@ -106,9 +174,7 @@ public class ReportUtils {
      * Log warning message
      */
     public static void logWarning(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.WARNING, message);
-        }
+        log(Status.WARNING, message);
         logger.warn("WARNING: {}", message);
     }
     
@@ -116,9 +182,7 @@ public class ReportUtils {
      * Log skip message
      */
     public static void logSkip(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.SKIP, message);
-        }
+        log(Status.SKIP, message);
         logger.info("SKIP: {}", message);
     }
     
@@ -126,24 +190,10 @@ public class ReportUtils {
      * Add API request details to report
      */
     public static void logApiRequest(String method, String url, String requestBody, String headers) {
-        if (test.get() != null) {
-            StringBuilder apiDetails = new StringBuilder();
-            apiDetails.append("<details><summary><b>API Request Details</b></summary>");
-            apiDetails.append("<p><b>Method:</b> ").append(method).append("</p>");
-            apiDetails.append("<p><b>URL:</b> ").append(url).append("</p>");
-            
-            if (headers != null && !headers.isEmpty()) {
-                apiDetails.append("<p><b>Headers:</b></p>");
-                apiDetails.append("<pre>").append(headers).append("</pre>");
-            }
-            
-            if (requestBody != null && !requestBody.isEmpty()) {
-                apiDetails.append("<p><b>Request Body:</b></p>");
-                apiDetails.append("<pre>").append(requestBody).append("</pre>");
-            }
-            
-            apiDetails.append("</details>");
-            test.get().log(Status.INFO, apiDetails.toString());
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.apiRequest(testId, method, url, requestBody, headers), start);
         }
     }
     
@@ -151,26 +201,10 @@ public class ReportUtils {
      * Add API response details to report
      */
     public static void logApiResponse(int statusCode, String responseBody, long responseTime, String headers) {
-        if (test.get() != null) {
-            StringBuilder responseDetails = new StringBuilder();
-            responseDetails.append("<details><summary><b>API Response Details</b></summary>");
-            responseDetails.append("<p><b>Status Code:</b> ").append(statusCode).append("</p>");
-            responseDetails.append("<p><b>Response Time:</b> ").append(responseTime).append(" ms</p>");
-            
-            if (headers != null && !headers.isEmpty()) {
-                responseDetails.append("<p><b>Response Headers:</b></p>");
-                responseDetails.append("<pre>").append(headers).append("</pre>");
-            }
-            
-            if (responseBody != null && !responseBody.isEmpty()) {
-                responseDetails.append("<p><b>Response Body:</b></p>");
-                responseDetails.append("<pre>").append(responseBody).append("</pre>");
-            }
-            
-            responseDetails.append("</details>");
-            
-            Status status = statusCode >= 200 && statusCode < 300 ? Status.PASS : Status.FAIL;
-            test.get().log(status, responseDetails.toString());
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.apiResponse(testId, statusCode, responseBody, responseTime, headers), start);
         }
     }
     
@@ -178,12 +212,10 @@ public class ReportUtils {
      * Add screenshot to report
      */
     public static void addScreenshot(String screenshotPath) {
-        if (test.get() != null) {
-            try {
-                test.get().addScreenCaptureFromPath(screenshotPath);
-            } catch (Exception e) {
-                logger.error("Failed to add screenshot to report", e);
-            }
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.screenshot(testId, screenshotPath), start);
         }
     }
     
@@ -191,8 +223,10 @@ public class ReportUtils {
      * Assign category to test
      */
     public static void assignCategory(String category) {
-        if (test.get() != null) {
-            test.get().assignCategory(category);
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.category(testId, category), start);
         }
     }
     
@@ -200,35 +234,235 @@ public class ReportUtils {
      * Assign author to test
      */
     public static void assignAuthor(String author) {
-        if (test.get() != null) {
-            test.get().assignAuthor(author);
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.author(testId, author), start);
         }
     }
     
     /**
-     * Flush and generate report
+     * Flush and generate report (waits for queued events to be written)
      */
     public static void flushReport() {
-        if (extent != null) {
-            extent.flush();
-            logger.info("ExtentReports flushed and report generated");
+        if (!sinks.isEmpty()) {
+            await(ReportEvent.barrier(true));
+            if (unmergedSpillFile != null) {
+                logger.info("Test results spilled to {}. Build the HTML report with: java -cp <classpath> {} {} {}",
+                    unmergedSpillFile, ReportSpillMerger.class.getName(), unmergedReportPath, unmergedSpillFile);
+            } else {
+                logger.info("ExtentReports flushed and report generated");
+            }
         }
     }
     
     /**
-     * Get current test instance
+     * Get current test instance. Waits for queued events, so avoid it on hot paths.
+     * Always null with report.incremental.enabled=true, where tests only reach Extent at flush.
      */
     public static ExtentTest getCurrentTest() {
-        return test.get();
+        Long testId = test.get();
+        if (testId == null || extentSink == null) {
+            return null;
+        }
+        await(ReportEvent.barrier(false));
+        return extentSink.getTest(testId);
     }
     
     /**
      * Remove current test from thread local
      */
     public static void removeTest() {
+        endTest(null);
+    }
+    
+    /**
+     * End the current test with its outcome (PASS, FAIL, SKIP) and remove it from thread local
+     */
+    public static void endTest(Status result) {
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.endTest(testId, result), start);
+        }
         test.remove();
     }
     
+    /**
+     * Write events through the writer thread (true) or on the calling thread (false)
+     */
+    public static void setAsyncEnabled(boolean enabled) {
+        if (writer != null) {
+            await(ReportEvent.barrier(false));
+        }
+        asyncEnabled = enabled;
+    }
+    
+    /**
+     * Total time test threads spent in reporting calls, in nanoseconds
+     */
+    public static long getCallerNanos() {
+        return callerNanos.sum();
+    }
+    
+    /**
+     * Number of reporting calls made by test threads
+     */
+    public static long getCallerCalls() {
+        return callerCalls.sum();
+    }
+    
+    /**
+     * Events waiting for the writer thread
+     */
+    public static long getPendingEvents() {
+        return pending.get();
+    }
+    
+    /**
+     * Log reporting statistics
+     */
+    public static void logStatistics() {
+        long calls = callerCalls.sum();
+        long nanos = callerNanos.sum();
+        logger.info("Reporting ({}) - calls: {}, test-thread time: {} ms ({} ns/call), events written: {}, pending: {}",
+            asyncEnabled ? "async" : "sync", calls, TimeUnit.NANOSECONDS.toMillis(nanos),
+            calls == 0 ? 0 : nanos / calls, eventsWritten.sum(), pending.get());
+    }
+    
+    // =============== EVENT QUEUE ===============
+    
+    private static void log(Status status, String message) {
+        long start = System.nanoTime();
+        Long testId = test.get();
+        if (testId != null) {
+            publish(ReportEvent.log(testId, status, message), start);
+        }
+    }
+    
+    private static void publish(ReportEvent event, long callStart) {
+        if (sinks.isEmpty()) {
+            // Nothing would consume the event (e.g. report.writer=stream without shards)
+            return;
+        }
+        if (asyncEnabled) {
+            long queued = pending.incrementAndGet();
+            events.offer(event);
+            ensureWriter();
+            if (writerIdle) {
+                LockSupport.unpark(writer);
+            }
+            if (queued > MAX_PENDING) {
+                waitForWriter();
+            }
+        } else {
+            synchronized (ReportUtils.class) {
+                dispatch(event);
+            }
+        }
+        long elapsed = System.nanoTime() - callStart;
+        callerNanos.add(elapsed);
+        callerCalls.increment();
+        TestTimings.addReportingNanos(elapsed);
+    }
+    
+    private static void await(ReportEvent barrier) {
+        if (!asyncEnabled) {
+            synchronized (ReportUtils.class) {
+                dispatch(barrier);
+            }
+            return;
+        }
+        events.offer(barrier);
+        ensureWriter();
+        LockSupport.unpark(writer);
+        try {
+            if (!barrier.getLatch().await(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for {} pending report events", pending.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void waitForWriter() {
+        // Backpressure only: the writer fell far behind
+        while (pending.get() > MAX_PENDING && writer != null) {
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+    
+    private static void ensureWriter() {
+        if (writer == null) {
+            synchronized (ReportUtils.class) {
+                if (writer == null) {
+                    Thread thread = new Thread(ReportUtils::drain, "report-writer");
+                    thread.setDaemon(true);
+                    thread.start();
+                    writer = thread;
+                }
+            }
+        }
+    }
+    
+    private static void drain() {
+        while (true) {
+            ReportEvent event = events.poll();
+            if (event == null) {
+                // Producers only unpark the writer while it is idle, so a busy writer costs them one volatile read.
+                // The queue is checked again after going idle so an event offered in between is not missed.
+                writerIdle = true;
+                if (events.isEmpty()) {
+                    LockSupport.park(ReportUtils.class);
+                }
+                writerIdle = false;
+                continue;
+            }
+            dispatch(event);
+            if (event.getType() != ReportEvent.Type.BARRIER) {
+                pending.decrementAndGet();
+            }
+        }
+    }
+    
+    private static void dispatch(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.BARRIER) {
+            if (event.isFlush()) {
+                for (ReportSink sink : sinks) {
+                    flushSink(sink);
+                }
+            }
+            event.getLatch().countDown();
+            return;
+        }
+        for (ReportSink sink : sinks) {
+            try {
+                sink.onEvent(event);
+            } catch (RuntimeException e) {
+                // One failing sink must not stop the writer or the other sinks
+                logger.warn("Report sink {} failed on {}: {}", sink.getClass().getSimpleName(), event.getType(), e.getMessage());
+            }
+        }
+        eventsWritten.increment();
+    }
+    
+    private static void flushSink(ReportSink sink) {
+        try {
+            sink.flush();
+        } catch (RuntimeException e) {
+            logger.warn("Report sink {} failed to flush: {}", sink.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+    
+    static ExtentSparkReporter createSparkReporter(String reportPath) {
+        ExtentSparkReporter htmlReporter = new ExtentSparkReporter(reportPath);
+        htmlReporter.config().setDocumentTitle("API Test Automation Report");
+        htmlReporter.config().setReportName("API Testing Results");
+        htmlReporter.config().setTheme(Theme.STANDARD);
+        htmlReporter.config().setEncoding("utf-8");
+        return htmlReporter;
+    }
+    
     /**
      * Create reports directory if it doesn't exist
      */
@@ -250,4 +484,4 @@ public class ReportUtils {
     public static String getReportsPath() {
         return REPORTS_PATH;
     }
-}
\ No newline at end of file
+}
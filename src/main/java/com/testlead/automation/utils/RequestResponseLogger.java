@@ -1,5 +1,6 @@
 package com.testlead.automation.utils;
 
+import com.testlead.automation.config.ConfigManager;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
@@ -7,69 +8,71 @@ import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Custom filter to log requests and responses for better debugging and reporting
  * Note: Allure attachments are handled separately in test classes to keep framework clean
+ *
+ * The filter only captures an ExchangeRecord; formatting and log I/O happen on the
+ * AsyncExchangeLogger thread unless logging.async.enabled=false.
+ * With logging.failure.only=true records only go to the per-test ExchangeCapture buffer.
+ *
+ * Every request carries a correlation id header (logging.correlation.header, default
+ * X-Correlation-Id) so an exchange event can be matched with server-side logs.
  */
 @Slf4j
 public class RequestResponseLogger implements Filter {
-
+    
+    private static final boolean ASYNC = ConfigManager.getBoolean("logging.async.enabled", true);
+    private static final String CORRELATION_HEADER = ConfigManager.get("logging.correlation.header", "X-Correlation-Id");
+    
+    // Run prefix + sequence: unique per run without the cost of a random UUID per request
+    private static final String CORRELATION_PREFIX = Long.toString(ThreadLocalRandom.current().nextLong() >>> 24, 36) + "-";
+    private static final AtomicLong correlationSequence = new AtomicLong();
+    
     @Override
-    public Response filter(FilterableRequestSpecification requestSpec, 
-                          FilterableResponseSpecification responseSpec, 
+    public Response filter(FilterableRequestSpecification requestSpec,
+                          FilterableResponseSpecification responseSpec,
                           FilterContext ctx) {
         
-        // Log request details
-        logRequest(requestSpec);
+        String correlationId = correlationId(requestSpec);
         
         // Execute the request
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
         Response response = ctx.next(requestSpec, responseSpec);
+        long durationNanos = System.nanoTime() - start;
         
-        // Log response details
-        logResponse(response);
-        
-        return response;
-    }
-    
-    private void logRequest(FilterableRequestSpecification requestSpec) {
-        log.info("=== REQUEST DETAILS ===");
-        log.info("Method: {}", requestSpec.getMethod());
-        log.info("URI: {}", requestSpec.getURI());
-        
-        if (requestSpec.getHeaders() != null && requestSpec.getHeaders().size() > 0) {
-            log.info("Headers: {}", requestSpec.getHeaders());
+        ExchangeRecord record = ExchangeRecord.capture(requestSpec, response, startMillis, durationNanos, correlationId);
+        if (ExchangeCapture.isFailureOnly()) {
+            // Written by the test listener only if the test fails
+            ExchangeCapture.record(record);
+            return response;
         }
-        
-        if (requestSpec.getQueryParams() != null && !requestSpec.getQueryParams().isEmpty()) {
-            log.info("Query Parameters: {}", requestSpec.getQueryParams());
-        }
-        
-        if (requestSpec.getPathParams() != null && !requestSpec.getPathParams().isEmpty()) {
-            log.info("Path Parameters: {}", requestSpec.getPathParams());
-        }
-        
-        if (requestSpec.getBody() != null) {
-            log.info("Request Body: {}", (Object) requestSpec.getBody());
+        if (ASYNC) {
+            AsyncExchangeLogger.publish(record);
+        } else {
+            log.info(record.toLogMessage());
         }
         
-        log.info("=========================");
+        return response;
     }
     
-    private void logResponse(Response response) {
-        log.info("=== RESPONSE DETAILS ===");
-        log.info("Status Code: {}", response.getStatusCode());
-        log.info("Status Line: {}", response.getStatusLine());
-        log.info("Response Time: {} ms", response.getTime());
-        
-        if (response.getHeaders() != null && response.getHeaders().size() > 0) {
-            log.info("Response Headers: {}", response.getHeaders());
+    /**
+     * Reuse a correlation id set by the caller, otherwise add a new one to the request
+     */
+    private String correlationId(FilterableRequestSpecification requestSpec) {
+        if (CORRELATION_HEADER.isEmpty()) {
+            return null;
         }
-        
-        String responseBody = response.getBody().asString();
-        if (responseBody != null && !responseBody.trim().isEmpty()) {
-            log.info("Response Body: {}", responseBody);
+        String existing = requestSpec.getHeaders().getValue(CORRELATION_HEADER);
+        if (existing != null) {
+            return existing;
         }
-        
-        log.info("==========================");
+        String correlationId = CORRELATION_PREFIX + Long.toString(correlationSequence.incrementAndGet(), 36);
+        requestSpec.header(CORRELATION_HEADER, correlationId);
+        return correlationId;
     }
-}
\ No newline at end of file
+}
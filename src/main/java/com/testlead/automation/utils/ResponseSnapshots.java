@@ -0,0 +1,291 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot testing for API responses.
+ * Each snapshot is stored as canonical JSON next to a compact index of content hashes.
+ * A new response is hashed and compared with the index first; the stored snapshot is only
+ * read and diffed when the hashes differ, so unchanged responses cost one tree walk.
+ *
+ * Usage:
+ * <pre>
+ * ResponseSnapshots.Result result = ResponseSnapshots.verify("users/get-by-id", response.getBody().asString());
+ * assertTrue(result.isMatch(), result.describe());
+ * </pre>
+ *
+ * Missing snapshots are recorded on first run. Set snapshot.update=true to accept changed responses.
+ * Snapshot files are written right away; index changes are kept in memory and written once
+ * by {@link #writeIndex()} at the end of the suite (and at JVM shutdown).
+ */
+public class ResponseSnapshots {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResponseSnapshots.class);
+    
+    private static final String INDEX_FILE = "snapshots.index";
+    
+    private static final Path SNAPSHOT_DIRECTORY = Paths.get(ConfigManager.get("snapshot.directory", "src/test/resources/snapshots"));
+    private static final boolean UPDATE_SNAPSHOTS = ConfigManager.getBoolean("snapshot.update", false);
+    private static final Set<String> DEFAULT_IGNORED_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        ConfigManager.get("snapshot.ignore.fields", "id,createdAt,updatedAt,lastLoginAt,timestamp,responseTime").split("\\s*,\\s*"))));
+    
+    private static volatile Map<String, String> index;
+    private static final AtomicBoolean indexChanged = new AtomicBoolean();
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ResponseSnapshots::writeIndex, "snapshot-index-shutdown"));
+    }
+    
+    private static final AtomicLong comparisons = new AtomicLong();
+    private static final AtomicLong hashMatches = new AtomicLong();
+    private static final AtomicLong fullDiffs = new AtomicLong();
+    
+    public enum Status {
+        MATCHED, CREATED, UPDATED, MISMATCHED
+    }
+    
+    private ResponseSnapshots() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+    
+    /**
+     * Compare a JSON response with its snapshot, ignoring the default volatile fields
+     */
+    public static Result verify(String name, String json) {
+        return verify(name, JsonUtils.getJsonNode(json), DEFAULT_IGNORED_FIELDS);
+    }
+    
+    /**
+     * Compare a JSON response with its snapshot, ignoring extra fields on top of the defaults
+     */
+    public static Result verify(String name, String json, String... ignoredFields) {
+        Set<String> ignored = new HashSet<>(DEFAULT_IGNORED_FIELDS);
+        ignored.addAll(Arrays.asList(ignoredFields));
+        return verify(name, JsonUtils.getJsonNode(json), ignored);
+    }
+    
+    /**
+     * Compare a JSON tree with its snapshot using exactly the given ignored fields
+     */
+    public static Result verify(String name, JsonNode actual, Set<String> ignoredFields) {
+        comparisons.incrementAndGet();
+        String key = snapshotKey(name);
+        String hash = CanonicalJson.hash(actual, ignoredFields);
+        Map<String, String> hashes = index();
+        
+        String storedHash = hashes.get(key);
+        if (hash.equals(storedHash)) {
+            hashMatches.incrementAndGet();
+            return new Result(name, Status.MATCHED, hash, Collections.emptyList());
+        }
+        
+        Path snapshotFile = SNAPSHOT_DIRECTORY.resolve(key + ".json");
+        if (storedHash == null && !Files.exists(snapshotFile)) {
+            store(key, snapshotFile, actual, ignoredFields, hash);
+            logger.info("Recorded new snapshot '{}'", name);
+            return new Result(name, Status.CREATED, hash, Collections.emptyList());
+        }
+        
+        // Hash differs (or index entry missing) - fall back to a full structural diff
+        fullDiffs.incrementAndGet();
+        JsonNode expected = readSnapshot(snapshotFile);
+        List<JsonDiff.Difference> differences = JsonDiff.builder()
+            .ignoreFields(ignoredFields.toArray(new String[0]))
+            .nullEqualsMissing(false)
+            .build()
+            .compare(expected, CanonicalJson.canonicalize(actual, ignoredFields));
+        
+        if (differences.isEmpty()) {
+            // Same content under the current ignore rules; refresh the index so the next run is a hash hit
+            updateIndex(key, hash);
+            return new Result(name, Status.MATCHED, hash, differences);
+        }
+        if (UPDATE_SNAPSHOTS) {
+            store(key, snapshotFile, actual, ignoredFields, hash);
+            logger.info("Updated snapshot '{}' ({} differences)", name, differences.size());
+            return new Result(name, Status.UPDATED, hash, differences);
+        }
+        logger.warn("Snapshot '{}' does not match: {} differences", name, differences.size());
+        return new Result(name, Status.MISMATCHED, hash, differences);
+    }
+    
+    /**
+     * Number of snapshot comparisons so far
+     */
+    public static long getComparisonCount() {
+        return comparisons.get();
+    }
+    
+    /**
+     * Comparisons settled by hash alone
+     */
+    public static long getHashMatchCount() {
+        return hashMatches.get();
+    }
+    
+    /**
+     * Comparisons that needed a full diff
+     */
+    public static long getFullDiffCount() {
+        return fullDiffs.get();
+    }
+    
+    /**
+     * Log snapshot statistics
+     */
+    public static void logStatistics() {
+        logger.info("Snapshots - comparisons: {}, hash matches: {}, full diffs: {}",
+            comparisons.get(), hashMatches.get(), fullDiffs.get());
+    }
+    
+    // =============== STORAGE ===============
+    
+    private static String snapshotKey(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new RuntimeException("Snapshot name must not be empty");
+        }
+        return name.trim().replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+    
+    private static Map<String, String> index() {
+        Map<String, String> current = index;
+        if (current == null) {
+            synchronized (ResponseSnapshots.class) {
+                current = index;
+                if (current == null) {
+                    current = loadIndex();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    private static Map<String, String> loadIndex() {
+        Map<String, String> hashes = new ConcurrentHashMap<>();
+        Path indexFile = SNAPSHOT_DIRECTORY.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            return hashes;
+        }
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('=');
+                if (separator > 0 && !line.startsWith("#")) {
+                    hashes.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                }
+            }
+            logger.debug("Loaded {} snapshot hashes from {}", hashes.size(), indexFile);
+            return hashes;
+        } catch (IOException e) {
+            logger.error("Error reading snapshot index {}: {}", indexFile, e.getMessage());
+            throw new RuntimeException("Snapshot index could not be read", e);
+        }
+    }
+    
+    private static JsonNode readSnapshot(Path snapshotFile) {
+        try {
+            return JsonUtils.getObjectMapper().readTree(snapshotFile.toFile());
+        } catch (IOException e) {
+            logger.error("Error reading snapshot {}: {}", snapshotFile, e.getMessage());
+            throw new RuntimeException("Snapshot could not be read: " + snapshotFile, e);
+        }
+    }
+    
+    private static void store(String key, Path snapshotFile, JsonNode actual, Set<String> ignoredFields, String hash) {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            JsonNode canonical = CanonicalJson.canonicalize(actual, ignoredFields);
+            Files.write(snapshotFile, JsonUtils.getObjectMapper().writeValueAsBytes(canonical));
+        } catch (IOException e) {
+            logger.error("Error writing snapshot {}: {}", snapshotFile, e.getMessage());
+            throw new RuntimeException("Snapshot could not be written: " + snapshotFile, e);
+        }
+        updateIndex(key, hash);
+    }
+    
+    private static void updateIndex(String key, String hash) {
+        // A lost update only costs a full diff next run, which puts the hash back
+        index().put(key, hash);
+        indexChanged.set(true);
+    }
+    
+    /**
+     * Write the index if hashes changed since it was last written
+     */
+    public static synchronized void writeIndex() {
+        if (!indexChanged.getAndSet(false)) {
+            return;
+        }
+        Map<String, String> hashes = index();
+        
+        // Sorted and written via a temp file so the index stays diff-friendly and never half-written
+        Path indexFile = SNAPSHOT_DIRECTORY.resolve(INDEX_FILE);
+        Path tempFile = SNAPSHOT_DIRECTORY.resolve(INDEX_FILE + ".tmp");
+        try {
+            Files.createDirectories(SNAPSHOT_DIRECTORY);
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write("# Response snapshot hashes (SHA-256 of canonical JSON)\n");
+                for (Map.Entry<String, String> entry : new TreeMap<>(hashes).entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('=');
+                    writer.write(entry.getValue());
+                    writer.write('\n');
+                }
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Wrote {} snapshot hashes to {}", hashes.size(), indexFile);
+        } catch (IOException e) {
+            indexChanged.set(true);
+            logger.error("Error writing snapshot index {}: {}", indexFile, e.getMessage());
+            throw new RuntimeException("Snapshot index could not be written", e);
+        }
+    }
+    
+    /**
+     * Outcome of a snapshot comparison
+     */
+    public static class Result {
+        private final String name;
+        private final Status status;
+        private final String hash;
+        private final List<JsonDiff.Difference> differences;
+        
+        Result(String name, Status status, String hash, List<JsonDiff.Difference> differences) {
+            this.name = name;
+            this.status = status;
+            this.hash = hash;
+            this.differences = differences;
+        }
+        
+        public String getName() { return name; }
+        public Status getStatus() { return status; }
+        public String getHash() { return hash; }
+        public List<JsonDiff.Difference> getDifferences() { return differences; }
+        
+        /**
+         * True unless the response differs from an existing snapshot that was not updated
+         */
+        public boolean isMatch() {
+            return status != Status.MISMATCHED;
+        }
+        
+        public String describe() {
+            return "Snapshot '" + name + "' " + status + (differences.isEmpty() ? "" : ": " + JsonDiff.format(differences));
+        }
+    }
+}
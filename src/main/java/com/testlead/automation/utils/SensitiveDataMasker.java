@@ -0,0 +1,406 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.config.ConfigSnapshot;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Masks sensitive values in bodies, headers and parameters before they are logged or reported.
+ * The field set is prepared once per masker and a JSON body is masked in a single pass: keys are
+ * matched as they are scanned and only the values that need masking are rewritten, so a body
+ * without sensitive data is returned as is without being copied.
+ *
+ * Usage:
+ * <pre>
+ * String safeBody = SensitiveDataMasker.getDefault().mask(body);
+ * String safeHeaders = SensitiveDataMasker.getDefault().maskHeaders(response.getHeaders());
+ * </pre>
+ *
+ * Field names match case-insensitively. Values of sensitive fields are replaced whatever their
+ * type; string values that look like card numbers (an issuer prefix of a major card network, a
+ * length that network issues and a valid Luhn check digit) keep only their last four digits.
+ */
+public class SensitiveDataMasker {
+    
+    public static final String MASK = "***MASKED***";
+    
+    private static final String DEFAULT_FIELDS =
+        "password,newPassword,oldPassword,confirmPassword,token,accessToken,refreshToken,apiKey,secret,"
+            + "clientSecret,authorization,creditCard,cardNumber,cvv,ssn";
+    private static final String DEFAULT_HEADERS =
+        "authorization,proxy-authorization,cookie,set-cookie,x-api-key,x-auth-token";
+    private static final String QUOTED_MASK = "\"" + MASK + "\"";
+    
+    private static volatile SensitiveDataMasker defaultMasker = fromConfig(ConfigManager.current());
+    
+    static {
+        // Rebuilt when logging.mask.* changes on a configuration reload
+        ConfigManager.addListener((previous, current) -> {
+            if (current.changed(previous, "logging.mask.")) {
+                defaultMasker = fromConfig(current);
+            }
+        });
+    }
+    
+    private static final Map<List<String>, SensitiveDataMasker> customMaskers = new ConcurrentHashMap<>();
+    
+    private final boolean enabled;
+    private final Set<String> fields;
+    private final Set<String> headers;
+    private final boolean maskCardNumbers;
+    // Cheap length filter so most keys are rejected without building a lower-case copy
+    private final int minFieldLength;
+    private final int maxFieldLength;
+    
+    private SensitiveDataMasker(boolean enabled, Collection<String> fields, Collection<String> headers, boolean maskCardNumbers) {
+        this.enabled = enabled;
+        this.fields = lowerCase(fields);
+        this.headers = lowerCase(headers);
+        this.headers.addAll(this.fields);
+        this.maskCardNumbers = maskCardNumbers;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (String field : this.fields) {
+            min = Math.min(min, field.length());
+            max = Math.max(max, field.length());
+        }
+        this.minFieldLength = min;
+        this.maxFieldLength = max;
+    }
+    
+    /**
+     * Masker configured from logging.mask.* properties
+     */
+    public static SensitiveDataMasker getDefault() {
+        return defaultMasker;
+    }
+    
+    private static SensitiveDataMasker fromConfig(ConfigSnapshot config) {
+        return new SensitiveDataMasker(
+            config.getBoolean("logging.mask.enabled", true),
+            split(config.get("logging.mask.fields", DEFAULT_FIELDS)),
+            split(config.get("logging.mask.headers", DEFAULT_HEADERS)),
+            config.getBoolean("logging.mask.card.numbers", true));
+    }
+    
+    /**
+     * Masker for exactly the given field names (no card number detection), cached per field list
+     */
+    public static SensitiveDataMasker forFields(String... fieldNames) {
+        return customMaskers.computeIfAbsent(Arrays.asList(fieldNames),
+            names -> new SensitiveDataMasker(true, names, Collections.emptyList(), false));
+    }
+    
+    /**
+     * True when a field or header with this name is masked
+     */
+    public boolean isSensitive(String name) {
+        return enabled && name != null && headers.contains(name.toLowerCase(Locale.ROOT));
+    }
+    
+    // =============== BODIES ===============
+    
+    /**
+     * Mask a JSON body in one pass. Other text is scanned the same way, so quoted
+     * "key": value pairs and card numbers in quoted strings are masked there as well.
+     */
+    public String mask(String body) {
+        if (!enabled || body == null || body.isEmpty()) {
+            return body;
+        }
+        int length = body.length();
+        StringBuilder out = null;
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            if (body.charAt(i) != '"') {
+                i++;
+                continue;
+            }
+            int end = endOfString(body, i);
+            int next = skipWhitespace(body, end);
+            if (next < length && body.charAt(next) == ':') {
+                int valueStart = skipWhitespace(body, next + 1);
+                if (isSensitiveField(body, i + 1, end - 1)) {
+                    int valueEnd = endOfValue(body, valueStart);
+                    if (out == null) {
+                        out = new StringBuilder(length + 16);
+                    }
+                    out.append(body, copied, valueStart).append(QUOTED_MASK);
+                    copied = valueEnd;
+                    i = valueEnd;
+                } else {
+                    i = valueStart;
+                }
+            } else {
+                if (maskCardNumbers && isCardNumber(body, i + 1, end - 1)) {
+                    if (out == null) {
+                        out = new StringBuilder(length + 16);
+                    }
+                    out.append(body, copied, i + 1);
+                    appendMaskedCard(out, body, i + 1, end - 1);
+                    copied = end - 1;
+                }
+                i = end;
+            }
+        }
+        if (out == null) {
+            return body;
+        }
+        return out.append(body, copied, length).toString();
+    }
+    
+    private boolean isSensitiveField(String text, int start, int end) {
+        int length = end - start;
+        if (length < minFieldLength || length > maxFieldLength) {
+            return false;
+        }
+        return fields.contains(text.substring(start, end).toLowerCase(Locale.ROOT));
+    }
+    
+    private static int endOfString(String text, int quote) {
+        int i = quote + 1;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+    
+    private static int endOfValue(String text, int start) {
+        int length = text.length();
+        if (start >= length) {
+            return length;
+        }
+        char first = text.charAt(start);
+        if (first == '"') {
+            return endOfString(text, start);
+        }
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            int i = start;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    i = endOfString(text, i);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            return length;
+        }
+        int i = start;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+    
+    private static int skipWhitespace(String text, int index) {
+        int length = text.length();
+        while (index < length && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+    
+    // =============== CARD NUMBERS ===============
+    
+    private static boolean isCardNumber(String text, int start, int end) {
+        // Digits with optional space or dash separators
+        if (end - start < 13 || end - start > 23) {
+            return false;
+        }
+        int digits = 0;
+        int sum = 0;
+        for (int i = end - 1; i >= start; i--) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (digits % 2 == 1) {
+                    digit *= 2;
+                    if (digit > 9) {
+                        digit -= 9;
+                    }
+                }
+                sum += digit;
+                digits++;
+            } else if (c != ' ' && c != '-') {
+                return false;
+            }
+        }
+        return digits >= 13 && digits <= 19 && sum % 10 == 0 && hasIssuerPrefix(text, start, end, digits);
+    }
+    
+    /**
+     * Issuer prefix (IIN) and length of a major card network. One in ten digit strings passes the
+     * Luhn check by chance, so without this ids and order numbers would be masked too.
+     */
+    private static boolean hasIssuerPrefix(String text, int start, int end, int digits) {
+        int prefix = 0;
+        int read = 0;
+        for (int i = start; i < end && read < 4; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                prefix = prefix * 10 + (c - '0');
+                read++;
+            }
+        }
+        int two = prefix / 100;
+        int three = prefix / 10;
+        if (prefix / 1000 == 4) {
+            // Visa
+            return digits == 13 || digits == 16;
+        }
+        if ((two >= 51 && two <= 55) || (prefix >= 2221 && prefix <= 2720)) {
+            // Mastercard
+            return digits == 16;
+        }
+        if (two == 34 || two == 37) {
+            // American Express
+            return digits == 15;
+        }
+        if (prefix == 6011 || (three >= 644 && three <= 649) || two == 65 || (prefix >= 3528 && prefix <= 3589)) {
+            // Discover, JCB
+            return digits == 16;
+        }
+        if (two == 62) {
+            // UnionPay
+            return digits >= 16;
+        }
+        if ((three >= 300 && three <= 305) || two == 36 || two == 38 || two == 39) {
+            // Diners Club
+            return digits == 14 || digits == 16;
+        }
+        return false;
+    }
+    
+    private static void appendMaskedCard(StringBuilder out, String text, int start, int end) {
+        // Keep the separators and the last four digits
+        int keep = 4;
+        int maskFrom = end;
+        while (maskFrom > start && keep > 0) {
+            maskFrom--;
+            char c = text.charAt(maskFrom);
+            if (c >= '0' && c <= '9') {
+                keep--;
+            }
+        }
+        for (int i = start; i < maskFrom; i++) {
+            char c = text.charAt(i);
+            out.append(c >= '0' && c <= '9' ? '*' : c);
+        }
+        out.append(text, maskFrom, end);
+    }
+    
+    // =============== HEADERS AND PARAMETERS ===============
+    
+    /**
+     * Headers as "Name=value" lines with sensitive values masked
+     */
+    public String maskHeaders(Headers headerList) {
+        if (headerList == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(headerList.size() * 48);
+        for (Header header : headerList) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(header.getName()).append('=')
+                .append(isSensitive(header.getName()) ? MASK : header.getValue());
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Mask header text with one "Name=value" or "Name: value" entry per line
+     */
+    public String maskHeaders(String headerText) {
+        if (!enabled || headerText == null || headerText.isEmpty()) {
+            return headerText;
+        }
+        StringBuilder text = new StringBuilder(headerText.length());
+        for (String line : headerText.split("\n", -1)) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            int separator = separatorIndex(line);
+            if (separator > 0 && isSensitive(line.substring(0, separator).trim())) {
+                text.append(line, 0, separator + 1).append(line.charAt(separator) == ':' ? " " : "").append(MASK);
+            } else {
+                text.append(line);
+            }
+        }
+        return text.toString();
+    }
+    
+    private static int separatorIndex(String line) {
+        int equals = line.indexOf('=');
+        int colon = line.indexOf(':');
+        if (equals < 0) {
+            return colon;
+        }
+        return colon < 0 ? equals : Math.min(equals, colon);
+    }
+    
+    /**
+     * Copy of query or path parameters with sensitive values masked
+     */
+    public Map<String, ?> maskParameters(Map<String, ?> parameters) {
+        if (!enabled || parameters == null || parameters.isEmpty()) {
+            return parameters;
+        }
+        Map<String, Object> masked = null;
+        for (Map.Entry<String, ?> entry : parameters.entrySet()) {
+            if (isSensitive(entry.getKey())) {
+                if (masked == null) {
+                    masked = new LinkedHashMap<>(parameters);
+                }
+                masked.put(entry.getKey(), MASK);
+            }
+        }
+        return masked != null ? masked : parameters;
+    }
+    
+    private static List<String> split(String value) {
+        List<String> names = new ArrayList<>();
+        for (String name : value.split(",")) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+    
+    private static Set<String> lowerCase(Collection<String> names) {
+        Set<String> result = new HashSet<>();
+        for (String name : names) {
+            result.add(name.toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,228 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lightweight result writer for CI gating: pass/fail, duration and failure message per test,
+ * nothing else. Each result is written as soon as the test completes, so memory stays constant
+ * however many tests run:
+ * <pre>
+ * results.jsonl          one JSON line per test, flushed per test; started afresh by the
+ *                        JVM's first suite, later suites of the same JVM append
+ * TEST-&lt;suite&gt;.xml      JUnit XML, assembled at {@link #close()} from a streamed body file
+ * </pre>
+ *
+ * Select with report.writer: extent (default), stream, or both. With stream only, no
+ * ExtentReports model or HTML is built at all.
+ */
+public class StreamingResultWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingResultWriter.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String MODE = ConfigManager.get("report.writer", "extent").trim().toLowerCase(Locale.ROOT);
+
+    // Results of earlier runs in the same workspace must not reach the CI gate
+    private static final AtomicBoolean resultsStarted = new AtomicBoolean();
+
+    public static final String PASSED = "passed";
+    public static final String FAILED = "failed";
+    public static final String SKIPPED = "skipped";
+
+    private final Path directory;
+    private final String suiteName;
+    private final Path bodyFile;
+    private final Writer body;
+    private final JsonGenerator json;
+    private final long started = System.currentTimeMillis();
+    private long tests;
+    private long failures;
+    private long skipped;
+    private boolean closed;
+
+    public StreamingResultWriter(Path directory, String suiteName) {
+        this.directory = directory;
+        this.suiteName = suiteName;
+        this.bodyFile = directory.resolve(".TEST-" + fileName(suiteName) + ".body");
+        try {
+            Files.createDirectories(directory);
+            this.body = Files.newBufferedWriter(bodyFile, StandardCharsets.UTF_8);
+            StandardOpenOption mode = resultsStarted.compareAndSet(false, true)
+                ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND;
+            this.json = JSON_FACTORY.createGenerator(Files.newBufferedWriter(directory.resolve("results.jsonl"),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode));
+            json.setRootValueSeparator(null);
+        } catch (IOException e) {
+            logger.error("Failed to open result files in {}", directory, e);
+            throw new RuntimeException("Failed to open result files in: " + directory, e);
+        }
+    }
+
+    /**
+     * True when results should be streamed (report.writer=stream or both)
+     */
+    public static boolean isEnabled() {
+        return "stream".equals(MODE) || "both".equals(MODE);
+    }
+
+    /**
+     * True when the Extent HTML report should be built (report.writer=extent or both)
+     */
+    public static boolean isExtentEnabled() {
+        return !"stream".equals(MODE);
+    }
+
+    /**
+     * Write one completed test
+     *
+     * @param status {@link #PASSED}, {@link #FAILED} or {@link #SKIPPED}
+     * @param failure cause of a failure or skip, may be null
+     */
+    public synchronized void record(String className, String name, String status, long startMillis,
+                                    long durationMillis, Throwable failure) {
+        if (closed) {
+            return;
+        }
+        tests++;
+        if (FAILED.equals(status)) {
+            failures++;
+        } else if (SKIPPED.equals(status)) {
+            skipped++;
+        }
+        String message = failure == null ? null : String.valueOf(failure.getMessage());
+        try {
+            json.writeStartObject();
+            json.writeStringField("class", className);
+            json.writeStringField("name", name);
+            json.writeStringField("status", status);
+            json.writeNumberField("start", startMillis);
+            json.writeNumberField("durationMs", durationMillis);
+            if (message != null) {
+                json.writeStringField("message", message);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.flush();
+
+            body.write("  <testcase classname=\"" + escape(className) + "\" name=\"" + escape(name)
+                + "\" time=\"" + seconds(durationMillis) + "\"");
+            if (FAILED.equals(status)) {
+                body.write(">\n    <failure message=\"" + escape(message) + "\" type=\""
+                    + (failure == null ? "" : failure.getClass().getName()) + "\">"
+                    + escape(stackTrace(failure)) + "</failure>\n  </testcase>\n");
+            } else if (SKIPPED.equals(status)) {
+                body.write(">\n    <skipped" + (message == null ? "" : " message=\"" + escape(message) + "\"")
+                    + "/>\n  </testcase>\n");
+            } else {
+                body.write("/>\n");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write result of {}.{}", className, name, e);
+        }
+    }
+
+    /**
+     * Write the JUnit XML file; the JSON lines are already complete
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Path xmlFile = directory.resolve("TEST-" + fileName(suiteName) + ".xml");
+        try {
+            json.close();
+            body.close();
+            // Counts belong in the root element, so the streamed test cases are copied in behind it
+            try (OutputStream out = Files.newOutputStream(xmlFile)) {
+                out.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuite name=\"" + escape(suiteName)
+                    + "\" tests=\"" + tests + "\" failures=\"" + failures + "\" errors=\"0\" skipped=\"" + skipped
+                    + "\" time=\"" + seconds(System.currentTimeMillis() - started)
+                    + "\" timestamp=\"" + Instant.ofEpochMilli(started) + "\">\n").getBytes(StandardCharsets.UTF_8));
+                Files.copy(bodyFile, out);
+                out.write("</testsuite>\n".getBytes(StandardCharsets.UTF_8));
+            }
+            Files.deleteIfExists(bodyFile);
+            logger.info("Results written to {} ({} tests, {} failed, {} skipped)", xmlFile, tests, failures, skipped);
+        } catch (IOException e) {
+            logger.error("Failed to write JUnit results {}", xmlFile, e);
+        }
+    }
+
+    public synchronized long getTests() {
+        return tests;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        if (throwable == null) {
+            return "";
+        }
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    escaped.append(c);
+                    break;
+                default:
+                    // Other control characters are not allowed in XML 1.0
+                    if (c >= 0x20) {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Execution timeline of a suite run: one JSON line per test or configuration method invocation
+ * with its thread, start and end (microseconds since suite start, monotonic clock), priority,
+ * groups and dependencies. {@link SuiteTimelineAnalyzer} rebuilds the schedule from it.
+ *
+ * Enable with timeline.enabled=true; files go to reports/timeline.
+ */
+public class SuiteTimeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteTimeline.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final boolean ENABLED = ConfigManager.getBoolean("timeline.enabled", false);
+
+    private final Path file;
+    private final long originNanos;
+    private final JsonGenerator generator;
+    private long invocations;
+
+    /**
+     * @param originNanos System.nanoTime() at suite start; all times are relative to it
+     */
+    public SuiteTimeline(Path file, long originNanos) {
+        this.file = file;
+        this.originNanos = originNanos;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.generator = JSON_FACTORY.createGenerator(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            logger.error("Failed to open suite timeline {}", file, e);
+            throw new RuntimeException("Failed to open suite timeline: " + file, e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Record one finished invocation
+     *
+     * @param method qualified method name (package.Class.method)
+     * @param dependsOnMethods qualified names of the methods it depends on
+     */
+    public synchronized void record(boolean configuration, String xmlTest, String method, String thread,
+                                    long startNanos, long endNanos, String status, int priority,
+                                    Collection<String> groups, Collection<String> dependsOnMethods,
+                                    Collection<String> dependsOnGroups) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("kind", configuration ? "config" : "test");
+            generator.writeStringField("xmlTest", xmlTest);
+            generator.writeStringField("method", method);
+            generator.writeStringField("thread", thread);
+            generator.writeNumberField("start", (startNanos - originNanos) / 1000);
+            generator.writeNumberField("end", (endNanos - originNanos) / 1000);
+            generator.writeStringField("status", status);
+            generator.writeNumberField("priority", priority);
+            writeArray("groups", groups);
+            writeArray("dependsOnMethods", dependsOnMethods);
+            writeArray("dependsOnGroups", dependsOnGroups);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            invocations++;
+        } catch (IOException e) {
+            logger.error("Failed to record {} in suite timeline {}", method, file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            generator.close();
+            logger.info("Suite timeline with {} invocations written to {}", invocations, file);
+        } catch (IOException e) {
+            logger.error("Failed to close suite timeline {}", file, e);
+        }
+    }
+
+    private void writeArray(String field, Collection<String> values) throws IOException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,465 @@
+package com.testlead.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Post-run analysis of a {@link SuiteTimeline}: where the suite's wall-clock time went and what
+ * to split or reorder to cut it.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/classes:... com.testlead.automation.utils.SuiteTimelineAnalyzer \
+ *     reports/timeline/&lt;suite&gt;_&lt;timestamp&gt;.jsonl [--threads 3] [--top 5]
+ * </pre>
+ *
+ * Reported:
+ * <ul>
+ *   <li>per-thread busy and idle time, idle tail, and parallelism utilization
+ *       (work / (threads x wall clock))</li>
+ *   <li>the critical path: the longest chain through dependsOnMethods, dependsOnGroups and
+ *       priority order within a class; no schedule can finish faster than it</li>
+ *   <li>the lower bound max(critical path, work / threads) against the actual wall clock</li>
+ *   <li>recommendations: critical-path tests to split, oversized &lt;test&gt; units, tests
+ *       running alone at the end</li>
+ * </ul>
+ */
+public class SuiteTimelineAnalyzer {
+
+    private final List<Entry> entries;
+    private int threads;
+    private int top = 5;
+
+    public SuiteTimelineAnalyzer(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: SuiteTimelineAnalyzer <timeline.jsonl> [--threads <n>] [--top <n>]");
+            System.exit(1);
+        }
+        SuiteTimelineAnalyzer analyzer = load(Paths.get(args[0]));
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    analyzer.threads(Integer.parseInt(args[++i]));
+                    break;
+                case "--top":
+                    analyzer.top(Integer.parseInt(args[++i]));
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        System.out.println(analyzer.analyze());
+    }
+
+    /**
+     * Read a timeline file; malformed lines (a crashed run) are skipped
+     */
+    public static SuiteTimelineAnalyzer load(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (json.isEmpty()) {
+                    continue;
+                }
+                try {
+                    entries.add(new Entry(JsonUtils.getObjectMapper().readTree(json)));
+                } catch (IOException e) {
+                    // Partial last line
+                }
+            }
+        }
+        return new SuiteTimelineAnalyzer(entries);
+    }
+
+    /**
+     * Configured thread count (thread-count in testng.xml); defaults to the threads observed
+     */
+    public SuiteTimelineAnalyzer threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Number of tests listed per recommendation
+     */
+    public SuiteTimelineAnalyzer top(int top) {
+        this.top = Math.max(1, top);
+        return this;
+    }
+
+    /**
+     * Analyze the timeline and describe the result
+     */
+    public String analyze() {
+        StringBuilder out = new StringBuilder();
+        if (entries.isEmpty()) {
+            return "Timeline is empty";
+        }
+        long origin = Long.MAX_VALUE;
+        long finish = Long.MIN_VALUE;
+        for (Entry entry : entries) {
+            origin = Math.min(origin, entry.start);
+            finish = Math.max(finish, entry.end);
+        }
+        long wall = Math.max(1, finish - origin);
+
+        // =============== THREADS ===============
+        Map<String, ThreadUsage> usage = new TreeMap<>();
+        long work = 0;
+        for (Entry entry : entries) {
+            usage.computeIfAbsent(entry.thread, ThreadUsage::new).add(entry);
+            work += entry.duration();
+        }
+        // Suite-level configuration runs on the main thread; only threads running tests count as workers
+        int testThreads = 0;
+        for (ThreadUsage thread : usage.values()) {
+            if (thread.tests > 0) {
+                testThreads++;
+            }
+        }
+        int threadCount = Math.max(1, Math.max(threads, testThreads));
+        double utilization = (double) work / ((double) threadCount * wall);
+
+        out.append(String.format("Wall clock: %s, work: %s in %d invocations, threads: %d (%d used), utilization: %.0f%%%n",
+            ms(wall), ms(work), entries.size(), threadCount, testThreads, utilization * 100));
+        out.append(String.format("%-30s %12s %12s %12s%n", "thread", "busy", "idle", "idle at end"));
+        for (ThreadUsage thread : usage.values()) {
+            out.append(String.format("%-30s %12s %12s %12s%n", thread.name, ms(thread.busy),
+                ms(wall - thread.busy), thread.tests == 0 ? "-" : ms(finish - thread.lastEnd)));
+        }
+
+        // =============== CRITICAL PATH ===============
+        List<Node> path = criticalPath();
+        long critical = path.isEmpty() ? 0 : path.get(path.size() - 1).distance;
+        long lowerBound = Math.max(critical, work / threadCount);
+        out.append(String.format("%nCritical path: %s (%d tests); lower bound max(critical path, work/threads): %s;"
+            + " actual wall clock is %.1fx that%n", ms(critical), path.size(), ms(lowerBound), (double) wall / Math.max(1, lowerBound)));
+        for (Node node : path) {
+            out.append(String.format("  %10s  %s%n", ms(node.span()), node.label()));
+        }
+
+        // =============== RECOMMENDATIONS ===============
+        out.append(String.format("%nRecommendations:%n"));
+        int recommendations = 0;
+
+        if (critical * 2 >= wall) {
+            List<Node> longest = new ArrayList<>(path);
+            longest.sort(Comparator.comparingLong(Node::span).reversed());
+            out.append(String.format("- The critical path is %.0f%% of the wall clock; more threads will not help."
+                + " Split or shorten, or drop dependencies between:%n", critical * 100.0 / wall));
+            for (Node node : longest.subList(0, Math.min(top, longest.size()))) {
+                out.append(String.format("    %10s  %s%n", ms(node.span()), node.label()));
+            }
+            recommendations++;
+        }
+
+        Map<String, Long> unitWork = new TreeMap<>();
+        for (Entry entry : entries) {
+            unitWork.merge(entry.xmlTest, entry.duration(), Long::sum);
+        }
+        long fairShare = work / threadCount;
+        if (unitWork.size() > 1) {
+            for (Map.Entry<String, Long> unit : unitWork.entrySet()) {
+                if (unit.getValue() > fairShare * 11 / 10) {
+                    out.append(String.format("- <test> '%s' holds %s of work, more than an even share (%s) for %d threads:"
+                        + " split it into several <test> entries (parallel=\"tests\" cannot spread one <test>)%n",
+                        unit.getKey(), ms(unit.getValue()), ms(fairShare), threadCount));
+                    recommendations++;
+                }
+            }
+        }
+
+        if (testThreads < threadCount) {
+            out.append(String.format("- Only %d of %d threads ran tests: there are fewer parallel units than threads%n",
+                testThreads, threadCount));
+            recommendations++;
+        }
+
+        long othersDone = othersDone(usage);
+        List<Entry> alone = runningAlone(usage, othersDone);
+        long aloneTime = alone.isEmpty() ? 0 : finish - othersDone;
+        if (aloneTime * 10 >= wall && testThreads > 1) {
+            alone.sort(Comparator.comparingLong(Entry::duration).reversed());
+            out.append(String.format("- For the last %s one thread runs alone while the others are idle."
+                + " Start these earlier (order or priority) or split them:%n", ms(aloneTime)));
+            for (Entry entry : alone.subList(0, Math.min(top, alone.size()))) {
+                out.append(String.format("    %10s  %s [%s]%n", ms(entry.duration()), entry.method, entry.xmlTest));
+            }
+            recommendations++;
+        }
+
+        if (recommendations == 0) {
+            out.append(String.format("- None: no dominant bottleneck found%n"));
+        }
+
+        List<Entry> longestTests = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!entry.configuration) {
+                longestTests.add(entry);
+            }
+        }
+        longestTests.sort(Comparator.comparingLong(Entry::duration).reversed());
+        out.append(String.format("%nLongest tests:%n"));
+        for (Entry entry : longestTests.subList(0, Math.min(top, longestTests.size()))) {
+            out.append(String.format("  %10s  %s [%s, %s]%n", ms(entry.duration()), entry.method, entry.xmlTest, entry.thread));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Longest chain of test methods through their dependencies, in execution order
+     */
+    public List<Node> criticalPath() {
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (!entry.configuration) {
+                nodes.computeIfAbsent(entry.xmlTest + "|" + entry.method, k -> new Node(entry)).add(entry);
+            }
+        }
+
+        // Edges: explicit dependencies first, then priority order within each class
+        Map<String, List<Node>> byMethod = new HashMap<>();
+        Map<String, List<Node>> byGroup = new HashMap<>();
+        Map<String, List<Node>> byClass = new HashMap<>();
+        for (Node node : nodes.values()) {
+            byMethod.computeIfAbsent(node.xmlTest + "|" + node.method, k -> new ArrayList<>()).add(node);
+            for (String group : node.groups) {
+                byGroup.computeIfAbsent(node.xmlTest + "|" + group, k -> new ArrayList<>()).add(node);
+            }
+            byClass.computeIfAbsent(node.xmlTest + "|" + node.className(), k -> new ArrayList<>()).add(node);
+        }
+        for (Node node : nodes.values()) {
+            for (String method : node.dependsOnMethods) {
+                for (Node predecessor : byMethod.getOrDefault(node.xmlTest + "|" + method, Collections.emptyList())) {
+                    node.addPredecessor(predecessor);
+                }
+            }
+            for (String group : node.dependsOnGroups) {
+                for (Node predecessor : byGroup.getOrDefault(node.xmlTest + "|" + group, Collections.emptyList())) {
+                    node.addPredecessor(predecessor);
+                }
+            }
+        }
+        for (List<Node> members : byClass.values()) {
+            TreeMap<Integer, List<Node>> levels = new TreeMap<>();
+            for (Node node : members) {
+                levels.computeIfAbsent(node.priority, k -> new ArrayList<>()).add(node);
+            }
+            List<Node> previous = null;
+            for (List<Node> level : levels.values()) {
+                if (previous != null) {
+                    for (Node node : level) {
+                        for (Node predecessor : previous) {
+                            node.addPredecessor(predecessor);
+                        }
+                    }
+                }
+                previous = level;
+            }
+        }
+
+        // Longest path in topological order (Kahn); nodes on a cycle are left out
+        Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            if (node.pending == 0) {
+                ready.add(node);
+            }
+        }
+        Node last = null;
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            node.distance += node.span();
+            if (last == null || node.distance > last.distance) {
+                last = node;
+            }
+            for (Node successor : node.successors) {
+                if (node.distance > successor.distance) {
+                    successor.distance = node.distance;
+                    successor.previous = node;
+                }
+                if (--successor.pending == 0) {
+                    ready.add(successor);
+                }
+            }
+        }
+        LinkedList<Node> path = new LinkedList<>();
+        for (Node node = last; node != null; node = node.previous) {
+            path.addFirst(node);
+        }
+        return path;
+    }
+
+    /**
+     * When the second-to-last test thread finished its last test (Long.MIN_VALUE with one thread)
+     */
+    private static long othersDone(Map<String, ThreadUsage> usage) {
+        long last = Long.MIN_VALUE;
+        long secondLast = Long.MIN_VALUE;
+        for (ThreadUsage thread : usage.values()) {
+            if (thread.tests == 0) {
+                continue;
+            }
+            if (thread.lastEnd > last) {
+                secondLast = last;
+                last = thread.lastEnd;
+            } else {
+                secondLast = Math.max(secondLast, thread.lastEnd);
+            }
+        }
+        return secondLast;
+    }
+
+    /**
+     * Tests still running after every other thread had finished its last test
+     */
+    private List<Entry> runningAlone(Map<String, ThreadUsage> usage, long othersDone) {
+        List<Entry> alone = new ArrayList<>();
+        if (othersDone == Long.MIN_VALUE) {
+            return alone;
+        }
+        for (Entry entry : entries) {
+            if (!entry.configuration && entry.end > othersDone) {
+                alone.add(entry);
+            }
+        }
+        return alone;
+    }
+
+    private static String ms(long micros) {
+        return String.format("%.1f ms", micros / 1000.0);
+    }
+
+    // =============== MODEL ===============
+
+    /**
+     * One recorded invocation
+     */
+    public static class Entry {
+        private final boolean configuration;
+        private final String xmlTest;
+        private final String method;
+        private final String thread;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private final List<String> groups;
+        private final List<String> dependsOnMethods;
+        private final List<String> dependsOnGroups;
+
+        Entry(JsonNode node) {
+            this.configuration = "config".equals(node.path("kind").asText());
+            this.xmlTest = node.path("xmlTest").asText("");
+            this.method = node.path("method").asText();
+            this.thread = node.path("thread").asText("");
+            this.start = node.path("start").asLong();
+            this.end = Math.max(start, node.path("end").asLong());
+            this.priority = node.path("priority").asInt();
+            this.groups = strings(node.path("groups"));
+            this.dependsOnMethods = strings(node.path("dependsOnMethods"));
+            this.dependsOnGroups = strings(node.path("dependsOnGroups"));
+        }
+
+        long duration() {
+            return end - start;
+        }
+
+        private static List<String> strings(JsonNode array) {
+            if (!array.isArray() || array.size() == 0) {
+                return Collections.emptyList();
+            }
+            List<String> values = new ArrayList<>(array.size());
+            for (JsonNode value : array) {
+                values.add(value.asText());
+            }
+            return values;
+        }
+    }
+
+    /**
+     * All invocations of one test method within one &lt;test&gt;
+     */
+    public static class Node {
+        private final String xmlTest;
+        private final String method;
+        private final int priority;
+        private final List<String> groups;
+        private final List<String> dependsOnMethods;
+        private final List<String> dependsOnGroups;
+        private final Set<Node> successors = new LinkedHashSet<>();
+        private final Set<Node> predecessors = new HashSet<>();
+        private long start = Long.MAX_VALUE;
+        private long end = Long.MIN_VALUE;
+        private int pending;
+        private long distance;
+        private Node previous;
+
+        Node(Entry entry) {
+            this.xmlTest = entry.xmlTest;
+            this.method = entry.method;
+            this.priority = entry.priority;
+            this.groups = entry.groups;
+            this.dependsOnMethods = entry.dependsOnMethods;
+            this.dependsOnGroups = entry.dependsOnGroups;
+        }
+
+        void add(Entry entry) {
+            start = Math.min(start, entry.start);
+            end = Math.max(end, entry.end);
+        }
+
+        void addPredecessor(Node predecessor) {
+            if (predecessor != this && predecessors.add(predecessor)) {
+                predecessor.successors.add(this);
+                pending++;
+            }
+        }
+
+        /**
+         * First start to last end over all invocations (data provider rows)
+         */
+        public long span() {
+            return end - start;
+        }
+
+        String className() {
+            int dot = method.lastIndexOf('.');
+            return dot < 0 ? "" : method.substring(0, dot);
+        }
+
+        public String label() {
+            return method + " [" + xmlTest + "]";
+        }
+    }
+
+    private static class ThreadUsage {
+        private final String name;
+        private long busy;
+        private long tests;
+        private long lastEnd = Long.MIN_VALUE;
+
+        ThreadUsage(String name) {
+            this.name = name;
+        }
+
+        void add(Entry entry) {
+            busy += entry.duration();
+            if (!entry.configuration) {
+                tests++;
+                lastEnd = Math.max(lastEnd, entry.end);
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-invocation timing breakdown of test and configuration methods, aggregated per class
+ * and per suite.
+ *
+ * Time spent in HTTP exchanges ({@link EndpointLatencyFilter}) and in reporting calls
+ * ({@link ReportUtils}) is accumulated per thread; an invocation takes the difference between
+ * its start and end, so parallel invocations never see each other's time. Whatever remains of
+ * a test method is its own code, mostly assertions. All times use System.nanoTime().
+ *
+ * Disable with timing.enabled=false.
+ */
+public class TestTimings {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestTimings.class);
+    private static final boolean ENABLED = ConfigManager.getBoolean("timing.enabled", true);
+
+    private static final int REQUEST = 0;
+    private static final int REPORTING = 1;
+    private static final ThreadLocal<long[]> threadNanos = ThreadLocal.withInitial(() -> new long[2]);
+    private static final ConcurrentMap<String, Breakdown> classes = new ConcurrentHashMap<>();
+
+    private TestTimings() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Add request time of the calling thread
+     */
+    public static void addRequestNanos(long nanos) {
+        if (ENABLED) {
+            threadNanos.get()[REQUEST] += nanos;
+        }
+    }
+
+    /**
+     * Add reporting time of the calling thread
+     */
+    public static void addReportingNanos(long nanos) {
+        if (ENABLED) {
+            threadNanos.get()[REPORTING] += nanos;
+        }
+    }
+
+    /**
+     * Start timing an invocation on the calling thread
+     */
+    public static Invocation begin() {
+        long[] nanos = threadNanos.get();
+        return new Invocation(System.nanoTime(), nanos[REQUEST], nanos[REPORTING]);
+    }
+
+    /**
+     * Finish an invocation started with {@link #begin()} on the same thread and add it to its class
+     */
+    public static Invocation end(Invocation invocation, String className, boolean configuration) {
+        long[] nanos = threadNanos.get();
+        invocation.finish(System.nanoTime(), nanos[REQUEST], nanos[REPORTING]);
+        Breakdown breakdown = classes.computeIfAbsent(className, k -> new Breakdown());
+        if (configuration) {
+            breakdown.configurationNanos.add(invocation.getTotalNanos());
+            breakdown.configurations.increment();
+        } else {
+            breakdown.tests.increment();
+            breakdown.testNanos.add(invocation.getTotalNanos());
+            breakdown.requestNanos.add(invocation.getRequestNanos());
+            breakdown.reportingNanos.add(invocation.getReportingNanos());
+        }
+        return invocation;
+    }
+
+    /**
+     * Breakdown per class so far, sorted by class name
+     */
+    public static Map<String, Breakdown> getClasses() {
+        return new TreeMap<>(classes);
+    }
+
+    /**
+     * Log the per-class and per-suite breakdown against the suite's wall-clock time
+     */
+    public static void logSummary(String suiteName, long wallClockNanos) {
+        if (classes.isEmpty()) {
+            return;
+        }
+        Breakdown suite = new Breakdown();
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%-50s %6s %10s %10s %10s %10s %10s %10s", "class", "tests",
+            "config ms", "tests ms", "request ms", "report ms", "assert ms", "avg ms"));
+        for (Map.Entry<String, Breakdown> entry : getClasses().entrySet()) {
+            Breakdown breakdown = entry.getValue();
+            suite.add(breakdown);
+            table.append(row(entry.getKey(), breakdown));
+        }
+        table.append(row("TOTAL", suite));
+        logger.info("Timing breakdown of suite {} (wall clock {} ms, {} ms of invocations, parallelism {}):{}",
+            suiteName, millis(wallClockNanos), millis(suite.getConfigurationNanos() + suite.getTestNanos()),
+            wallClockNanos == 0 ? "-" : String.format("%.2f", (double) (suite.getConfigurationNanos() + suite.getTestNanos()) / wallClockNanos),
+            table);
+    }
+
+    /**
+     * Forget all aggregated timings (next suite)
+     */
+    public static void reset() {
+        classes.clear();
+    }
+
+    private static String row(String name, Breakdown breakdown) {
+        long tests = breakdown.getTests();
+        String shortName = name.length() > 50 ? "..." + name.substring(name.length() - 47) : name;
+        return String.format("%n%-50s %6d %10d %10d %10d %10d %10d %10d", shortName, tests,
+            millis(breakdown.getConfigurationNanos()), millis(breakdown.getTestNanos()), millis(breakdown.getRequestNanos()),
+            millis(breakdown.getReportingNanos()), millis(breakdown.getOtherNanos()),
+            tests == 0 ? 0 : millis(breakdown.getTestNanos() / tests));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Timing of one test or configuration method invocation
+     */
+    public static class Invocation {
+        private final long start;
+        private final long requestStart;
+        private final long reportingStart;
+        private long totalNanos;
+        private long requestNanos;
+        private long reportingNanos;
+
+        Invocation(long start, long requestStart, long reportingStart) {
+            this.start = start;
+            this.requestStart = requestStart;
+            this.reportingStart = reportingStart;
+        }
+
+        void finish(long end, long requestEnd, long reportingEnd) {
+            totalNanos = end - start;
+            requestNanos = requestEnd - requestStart;
+            reportingNanos = reportingEnd - reportingStart;
+        }
+
+        /**
+         * System.nanoTime() when the invocation started
+         */
+        public long getStartNanos() {
+            return start;
+        }
+
+        /**
+         * Nanoseconds since the invocation started, while it is still running
+         */
+        public long elapsedNanos() {
+            return System.nanoTime() - start;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getRequestNanos() {
+            return requestNanos;
+        }
+
+        public long getReportingNanos() {
+            return reportingNanos;
+        }
+
+        /**
+         * Time in the method's own code, mostly assertions
+         */
+        public long getOtherNanos() {
+            return Math.max(0, totalNanos - requestNanos - reportingNanos);
+        }
+    }
+
+    /**
+     * Aggregated timings of one class (or suite)
+     */
+    public static class Breakdown {
+        private final LongAdder tests = new LongAdder();
+        private final LongAdder configurations = new LongAdder();
+        private final LongAdder testNanos = new LongAdder();
+        private final LongAdder configurationNanos = new LongAdder();
+        private final LongAdder requestNanos = new LongAdder();
+        private final LongAdder reportingNanos = new LongAdder();
+
+        void add(Breakdown other) {
+            tests.add(other.getTests());
+            configurations.add(other.getConfigurations());
+            testNanos.add(other.getTestNanos());
+            configurationNanos.add(other.getConfigurationNanos());
+            requestNanos.add(other.getRequestNanos());
+            reportingNanos.add(other.getReportingNanos());
+        }
+
+        public long getTests() {
+            return tests.sum();
+        }
+
+        public long getConfigurations() {
+            return configurations.sum();
+        }
+
+        public long getTestNanos() {
+            return testNanos.sum();
+        }
+
+        public long getConfigurationNanos() {
+            return configurationNanos.sum();
+        }
+
+        public long getRequestNanos() {
+            return requestNanos.sum();
+        }
+
+        public long getReportingNanos() {
+            return reportingNanos.sum();
+        }
+
+        /**
+         * Test method time outside requests and reporting, mostly assertions
+         */
+        public long getOtherNanos() {
+            return Math.max(0, getTestNanos() - getRequestNanos() - getReportingNanos());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.testlead.automation.utils;
+
+import com.testlead.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collision-free unique keys for test entities (usernames, emails, SKUs), without coordination.
+ *
+ * A key is run id + node id + stripe + sequence, in lower-case base 36:
+ * <ul>
+ *   <li>run id - a hash of unique.run.id (e.g. the CI build number), else the JVM start second</li>
+ *   <li>node id - unique.node.id when each JVM or container is given a number, else 41 random
+ *       bits, so separate JVMs and containers practically never meet</li>
+ *   <li>stripe - claimed once per thread, so threads never share a counter. The first 36^3 - 1
+ *       threads get three digits; "zzz" is reserved as an escape, followed by 13 more digits for
+ *       every later thread, so stripes never run out</li>
+ *   <li>sequence - the thread's own counter; no locks or CAS after the first key</li>
+ * </ul>
+ * Run and node have fixed widths, the stripe width is fixed by its first three digits and only the
+ * sequence at the end varies in length, so two different combinations can never spell the same key.
+ */
+public class UniqueKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueKeys.class);
+    private static final int RUN_WIDTH = 7;
+    private static final int NODE_WIDTH = 8;
+    private static final int STRIPE_WIDTH = 3;
+    private static final int WIDE_STRIPE_WIDTH = 13;
+    private static final long STRIPE_ESCAPE = pow36(STRIPE_WIDTH) - 1;
+    private static final long NODE_LIMIT = pow36(NODE_WIDTH);
+    private static final String PREFIX = pad(runId(), RUN_WIDTH) + pad(nodeId(), NODE_WIDTH);
+    private static final String EMAIL_DOMAIN = ConfigManager.get("unique.email.domain", "testlead.com");
+
+    private static final AtomicLong stripes = new AtomicLong();
+    private static final ThreadLocal<Stripe> stripe = ThreadLocal.withInitial(Stripe::new);
+
+    private UniqueKeys() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Next unique key, e.g. "0t2k9qx0a1b2c3d4000a"
+     */
+    public static String next() {
+        return stripe.get().next();
+    }
+
+    /**
+     * Next unique key after a prefix: prefix_key
+     */
+    public static String next(String prefix) {
+        return prefix + "_" + next();
+    }
+
+    /**
+     * Unique username, e.g. "user_0t2k9qx0a1b2c3d4000a"
+     */
+    public static String username(String prefix) {
+        return next(prefix);
+    }
+
+    /**
+     * Unique email address in the unique.email.domain domain
+     */
+    public static String email(String prefix) {
+        return email(prefix, EMAIL_DOMAIN);
+    }
+
+    /**
+     * Unique email address in the given domain
+     */
+    public static String email(String prefix, String domain) {
+        return prefix + "." + next() + "@" + domain;
+    }
+
+    /**
+     * Unique stock keeping unit, "SKU-" and the key in upper case
+     */
+    public static String sku() {
+        return "SKU-" + next().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Run and node part shared by every key of this JVM
+     */
+    public static String getPrefix() {
+        return PREFIX;
+    }
+
+    // =============== PARTS ===============
+
+    /**
+     * Run id as a number below 36^RUN_WIDTH. A configured id of any length is hashed (64-bit FNV-1a)
+     * to that width; the JVM start second fits it until 2058.
+     */
+    private static long runId() {
+        String configured = ConfigManager.get("unique.run.id", null);
+        if (configured != null && !configured.trim().isEmpty()) {
+            long hash = 0xCBF29CE484222325L;
+            for (char c : configured.trim().toCharArray()) {
+                hash = (hash ^ c) * 0x100000001B3L;
+            }
+            long run = (hash & Long.MAX_VALUE) % pow36(RUN_WIDTH);
+            logger.info("Unique key run id: {} ({})", pad(run, RUN_WIDTH), configured.trim());
+            return run;
+        }
+        return System.currentTimeMillis() / 1000 % pow36(RUN_WIDTH);
+    }
+
+    private static long nodeId() {
+        long configured = ConfigManager.getLong("unique.node.id", -1L);
+        long node;
+        if (configured >= 0) {
+            node = configured % NODE_LIMIT;
+        } else {
+            node = (new SecureRandom().nextLong() & Long.MAX_VALUE) % NODE_LIMIT;
+        }
+        logger.info("Unique key node id: {}", node);
+        return node;
+    }
+
+    private static long pow36(int digits) {
+        long value = 1;
+        for (int i = 0; i < digits; i++) {
+            value *= 36;
+        }
+        return value;
+    }
+
+    private static String pad(long value, int width) {
+        String digits = Long.toString(value, 36);
+        StringBuilder padded = new StringBuilder(width);
+        for (int i = digits.length(); i < width; i++) {
+            padded.append('0');
+        }
+        return padded.append(digits).toString();
+    }
+
+    /**
+     * Counter owned by one thread
+     */
+    private static final class Stripe {
+        private final String prefix;
+        private long sequence;
+
+        Stripe() {
+            long index = stripes.getAndIncrement();
+            if (index < STRIPE_ESCAPE) {
+                this.prefix = PREFIX + pad(index, STRIPE_WIDTH);
+            } else {
+                // Past 36^3 - 1 threads: "zzz" and the rest of the index, 13 digits hold any long
+                this.prefix = PREFIX + pad(STRIPE_ESCAPE, STRIPE_WIDTH) + pad(index - STRIPE_ESCAPE, WIDE_STRIPE_WIDTH);
+            }
+        }
+
+        String next() {
+            return prefix + Long.toString(sequence++, 36);
+        }
+    }
+}
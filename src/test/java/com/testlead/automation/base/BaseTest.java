@@ -1,7 +1,13 @@
 package com.testlead.automation.base;
 
 import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.utils.AttachmentStore;
+import com.testlead.automation.utils.JsonDiff;
 import com.testlead.automation.utils.JsonUtils;
+import com.testlead.automation.utils.ResponseSnapshots;
+import com.testlead.automation.utils.SensitiveDataMasker;
+import com.testlead.automation.utils.UniqueKeys;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
@@ -9,6 +15,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.testng.annotations.*;
 import org.testng.asserts.SoftAssert;
 
+import java.util.List;
+
 import static org.testng.Assert.*;
 
 /**
@@ -135,6 +143,20 @@ public abstract class BaseTest {
         log.info("Error message verification passed: {}", expectedMessage);
     }
     
+    @Step("Verify response body matches expected model")
+    public void verifyResponseMatches(Object expected, Response response, JsonDiff diff) {
+        List<JsonDiff.Difference> differences = diff.compare(expected, response.getBody().asString());
+        assertTrue(differences.isEmpty(), "Response does not match expected model. " + JsonDiff.format(differences));
+        log.info("Response matches expected model");
+    }
+    
+    @Step("Verify response matches snapshot: {name}")
+    public void verifyResponseSnapshot(String name, Response response, String... ignoredFields) {
+        ResponseSnapshots.Result result = ResponseSnapshots.verify(name, response.getBody().asString(), ignoredFields);
+        assertTrue(result.isMatch(), result.describe());
+        log.info("Snapshot '{}' {}", name, result.getStatus());
+    }
+    
     // =============== UTILITY METHODS ===============
     
     @Step("Parse response to object of type: {clazz}")
@@ -154,35 +176,43 @@ public abstract class BaseTest {
         log.info("Response Body: {}", response.getBody().asString());
     }
     
-    @Attachment(value = "Response Body", type = "application/json")
     public String attachResponseBody(Response response) {
-        return response.getBody().asString();
+        // Large bodies become a reference to a shared, compressed blob, which is plain text rather than JSON
+        String body = response.getBody().asString();
+        String text = AttachmentStore.attachmentText(body, "json");
+        if (text == null) {
+            return null;
+        }
+        boolean inline = text == body;
+        Allure.addAttachment("Response Body", inline ? "application/json" : "text/plain", text, inline ? ".json" : ".txt");
+        return text;
     }
     
     @Attachment(value = "Request/Response Details", type = "text/plain")
     public String attachRequestResponseDetails(String method, String endpoint, Object requestBody, Response response) {
+        SensitiveDataMasker masker = SensitiveDataMasker.getDefault();
         StringBuilder details = new StringBuilder();
         details.append("=== REQUEST DETAILS ===\n");
         details.append("Method: ").append(method).append("\n");
         details.append("Endpoint: ").append(endpoint).append("\n");
         if (requestBody != null) {
-            details.append("Request Body: ").append(JsonUtils.toJson(requestBody)).append("\n");
+            details.append("Request Body: ").append(masker.mask(JsonUtils.toJson(requestBody))).append("\n");
         }
         details.append("\n=== RESPONSE DETAILS ===\n");
         details.append("Status Code: ").append(response.getStatusCode()).append("\n");
         details.append("Response Time: ").append(response.getTime()).append(" ms\n");
-        details.append("Response Body: ").append(response.getBody().asString()).append("\n");
-        return details.toString();
+        details.append("Response Body: ").append(masker.mask(response.getBody().asString())).append("\n");
+        return AttachmentStore.attachmentText(details.toString(), "txt");
     }
     
     // =============== DATA GENERATION HELPERS ===============
     
     protected String generateUniqueId() {
-        return "test_" + System.currentTimeMillis();
+        return UniqueKeys.next("test");
     }
     
     protected String generateRandomEmail() {
-        return "test_" + System.currentTimeMillis() + "@automation.com";
+        return UniqueKeys.email("test", "automation.com");
     }
     
     protected String generateRandomString(int length) {
@@ -0,0 +1,135 @@
+package com.testlead.automation.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlead.automation.models.ApiResponse;
+import com.testlead.automation.models.Product;
+import com.testlead.automation.models.User;
+import com.testlead.automation.testdata.ProductTestData;
+import com.testlead.automation.testdata.UserTestData;
+import com.testlead.automation.utils.JsonUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated model codecs (JsonUtils.toJson/fromJson) with Jackson's
+ * reflection-based binding configured the way JsonUtils was before codecs were added:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=com.testlead.automation.benchmarks.ModelSerializationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelSerializationBenchmark {
+    
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<List<Product>>() {};
+    private static final TypeReference<ApiResponse<User>> USER_RESPONSE = new TypeReference<ApiResponse<User>>() {};
+    
+    @Param({"1", "1000"})
+    public int productCount;
+    
+    private ObjectMapper reflectionMapper;
+    private User user;
+    private List<Product> products;
+    private ApiResponse<User> userResponse;
+    private String userJson;
+    private String productsJson;
+    private String userResponseJson;
+    
+    @Setup
+    public void setup() throws Exception {
+        reflectionMapper = new ObjectMapper();
+        reflectionMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        reflectionMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        
+        user = UserTestData.getValidUser();
+        products = ProductTestData.getProductsForPerformanceTesting(productCount);
+        userResponse = new ApiResponse<>(200, user);
+        
+        // Same input for both paths
+        userJson = reflectionMapper.writeValueAsString(user);
+        productsJson = reflectionMapper.writeValueAsString(products);
+        userResponseJson = reflectionMapper.writeValueAsString(userResponse);
+    }
+    
+    // =============== SERIALIZATION ===============
+    
+    @Benchmark
+    public String serializeUserReflection() throws Exception {
+        return reflectionMapper.writeValueAsString(user);
+    }
+    
+    @Benchmark
+    public String serializeUserGenerated() {
+        return JsonUtils.toJson(user);
+    }
+    
+    @Benchmark
+    public String serializeProductsReflection() throws Exception {
+        return reflectionMapper.writeValueAsString(products);
+    }
+    
+    @Benchmark
+    public String serializeProductsGenerated() {
+        return JsonUtils.toJson(products);
+    }
+    
+    @Benchmark
+    public String serializeApiResponseReflection() throws Exception {
+        return reflectionMapper.writeValueAsString(userResponse);
+    }
+    
+    @Benchmark
+    public String serializeApiResponseGenerated() {
+        return JsonUtils.toJson(userResponse);
+    }
+    
+    // =============== DESERIALIZATION ===============
+    
+    @Benchmark
+    public User deserializeUserReflection() throws Exception {
+        return reflectionMapper.readValue(userJson, User.class);
+    }
+    
+    @Benchmark
+    public User deserializeUserGenerated() {
+        return JsonUtils.fromJson(userJson, User.class);
+    }
+    
+    @Benchmark
+    public List<Product> deserializeProductsReflection() throws Exception {
+        return reflectionMapper.readValue(productsJson, PRODUCT_LIST);
+    }
+    
+    @Benchmark
+    public List<Product> deserializeProductsGenerated() {
+        return JsonUtils.fromJson(productsJson, PRODUCT_LIST);
+    }
+    
+    @Benchmark
+    public ApiResponse<User> deserializeApiResponseReflection() throws Exception {
+        return reflectionMapper.readValue(userResponseJson, USER_RESPONSE);
+    }
+    
+    @Benchmark
+    public ApiResponse<User> deserializeApiResponseGenerated() {
+        return JsonUtils.fromJson(userResponseJson, USER_RESPONSE);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ModelSerializationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
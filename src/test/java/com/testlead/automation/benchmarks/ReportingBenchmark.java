@@ -0,0 +1,73 @@
+package com.testlead.automation.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.testlead.automation.utils.ExtentReportSink;
+import com.testlead.automation.utils.ReportUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test-thread time per reporting call with several tests logging in parallel.
+ * async=false is the previous behaviour (Extent written on the calling thread under a lock).
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=com.testlead.automation.benchmarks.ReportingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ReportingBenchmark {
+    
+    private static final String BODY = "{\"name\":\"Benchmark Product\",\"price\":99.99,\"category\":\"electronics\","
+        + "\"description\":\"A product used to measure reporting overhead\",\"inStock\":true}";
+    private static final String HEADERS = "Content-Type=application/json\nAuthorization=Bearer abc.def.ghi";
+    
+    @Param({"true", "false"})
+    public boolean async;
+    
+    @State(Scope.Thread)
+    public static class TestState {
+        
+        @Setup(Level.Iteration)
+        public void startTest() {
+            ReportUtils.createTest("benchmark-" + Thread.currentThread().getName(), "ReportingBenchmark");
+        }
+        
+        @TearDown(Level.Iteration)
+        public void endTest() {
+            ReportUtils.removeTest();
+        }
+    }
+    
+    @Setup
+    public void setup() {
+        // In-memory Extent without a file reporter; flushReport is never timed
+        ReportUtils.addSink(new ExtentReportSink(new ExtentReports()));
+        ReportUtils.setAsyncEnabled(async);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        ReportUtils.flushReport();
+        ReportUtils.logStatistics();
+    }
+    
+    @Benchmark
+    public void logExchange(TestState state) {
+        ReportUtils.logApiRequest("POST", "https://api.example.com/products", BODY, HEADERS);
+        ReportUtils.logApiResponse(201, BODY, 120, HEADERS);
+        ReportUtils.logInfo("Product created");
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ReportingBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
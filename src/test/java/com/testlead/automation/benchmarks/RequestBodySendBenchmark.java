@@ -0,0 +1,98 @@
+package com.testlead.automation.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import com.testlead.automation.models.Product;
+import com.testlead.automation.testdata.ProductTestData;
+import com.testlead.automation.utils.PooledBodySerializer;
+import com.testlead.automation.utils.RequestResponseLogger;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Whole send path of a bulk request through RestAssured and the logging filter, against a local
+ * HTTP server: given().body(pojo) next to given().body(pooled buffer). Run with the GC profiler
+ * to compare allocation per request:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=com.testlead.automation.benchmarks.RequestBodySendBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodySendBenchmark {
+
+    private static final byte[] CREATED = "{\"created\":true}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"10", "1000", "5000"})
+    public int productCount;
+
+    private HttpServer server;
+    private List<Product> products;
+    private String baseUri;
+
+    @Setup
+    public void setup() throws IOException {
+        // Drains the body and answers 201, so the measured cost stays on the client side
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/products/bulk", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, CREATED.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(CREATED);
+            }
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+        products = ProductTestData.getProductsForPerformanceTesting(productCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public int pojoBody() {
+        return request().body(products).post("/products/bulk").getStatusCode();
+    }
+
+    @Benchmark
+    public int pooledBody() {
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(products)) {
+            return request().body(body.asInputStream()).post("/products/bulk").getStatusCode();
+        }
+    }
+
+    private RequestSpecification request() {
+        return given()
+            .baseUri(baseUri)
+            .contentType(ContentType.JSON)
+            .filter(new RequestResponseLogger());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RequestBodySendBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
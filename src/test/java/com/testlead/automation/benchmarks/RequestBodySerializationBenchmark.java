@@ -0,0 +1,67 @@
+package com.testlead.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlead.automation.models.Product;
+import com.testlead.automation.testdata.ProductTestData;
+import com.testlead.automation.utils.JsonUtils;
+import com.testlead.automation.utils.PooledBodySerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the String round trip RestAssured uses for POJO bodies with the
+ * pooled byte buffer path. Run with the GC profiler to see allocation per call:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=com.testlead.automation.benchmarks.RequestBodySerializationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodySerializationBenchmark {
+    
+    @Param({"10", "1000", "5000"})
+    public int productCount;
+    
+    private List<Product> products;
+    private ObjectWriter writer;
+    
+    @Setup
+    public void setup() {
+        products = ProductTestData.getProductsForPerformanceTesting(productCount);
+        writer = JsonUtils.getObjectMapper().writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+    
+    @Benchmark
+    public void stringRoundTrip(Blackhole blackhole) throws Exception {
+        // Mirrors what RestAssured does with .body(pojo): serialize to String, then encode
+        String json = writer.writeValueAsString(products);
+        blackhole.consume(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Benchmark
+    public void pooledBuffer(Blackhole blackhole) throws Exception {
+        try (PooledBodySerializer.Lease body = PooledBodySerializer.serialize(products)) {
+            InputStream stream = body.asInputStream();
+            blackhole.consume(stream.available());
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RequestBodySerializationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
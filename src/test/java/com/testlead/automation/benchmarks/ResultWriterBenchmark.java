@@ -0,0 +1,89 @@
+package com.testlead.automation.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.testlead.automation.utils.StreamingResultWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Wall-clock cost of reporting a whole suite: every test's results plus the final report.
+ * extent is the current HTML report, stream the JUnit XML / JSON lines writer (report.writer=stream).
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=com.testlead.automation.benchmarks.ResultWriterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResultWriterBenchmark {
+
+    private static final String BODY = "{\"name\":\"Benchmark Product\",\"price\":99.99,\"category\":\"electronics\","
+        + "\"description\":\"A product used to measure reporting overhead\",\"inStock\":true}";
+    private static final AssertionError FAILURE = new AssertionError("Expected status code 200 but got 500");
+
+    @Param({"extent", "stream"})
+    public String writer;
+
+    @Param({"1000", "10000"})
+    public int tests;
+
+    private Path directory;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("result-writer-benchmark");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void runSuite() {
+        if ("extent".equals(writer)) {
+            ExtentReports extent = new ExtentReports();
+            extent.attachReporter(new ExtentSparkReporter(directory.resolve("TestReport.html").toString()));
+            for (int i = 0; i < tests; i++) {
+                ExtentTest test = extent.createTest("test" + i, "ResultWriterBenchmark");
+                test.log(Status.INFO, "<pre>" + BODY + "</pre>");
+                if (i % 20 == 0) {
+                    test.fail(FAILURE);
+                } else {
+                    test.pass("passed");
+                }
+            }
+            extent.flush();
+        } else {
+            try (StreamingResultWriter results = new StreamingResultWriter(directory, "benchmark")) {
+                long start = System.currentTimeMillis();
+                for (int i = 0; i < tests; i++) {
+                    boolean failed = i % 20 == 0;
+                    results.record("ResultWriterBenchmark", "test" + i,
+                        failed ? StreamingResultWriter.FAILED : StreamingResultWriter.PASSED, start, 12, failed ? FAILURE : null);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ResultWriterBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
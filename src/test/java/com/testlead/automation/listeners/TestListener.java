@@ -1,9 +1,30 @@
 package com.testlead.automation.listeners;
 
+import com.aventstack.extentreports.Status;
+import com.testlead.automation.config.ConfigManager;
+import com.testlead.automation.testdata.TestDataPool;
+import com.testlead.automation.utils.AsyncExchangeLogger;
+import com.testlead.automation.utils.AttachmentStore;
+import com.testlead.automation.utils.DataFaker;
+import com.testlead.automation.utils.ExchangeCapture;
+import com.testlead.automation.utils.ExchangeRecord;
+import com.testlead.automation.utils.ReportUtils;
+import com.testlead.automation.utils.ResponseSnapshots;
+import com.testlead.automation.utils.StreamingResultWriter;
+import com.testlead.automation.utils.SuiteTimeline;
+import com.testlead.automation.utils.SuiteTimelineAnalyzer;
+import com.testlead.automation.utils.TestTimings;
 import io.qameta.allure.AllureLifecycle;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.*;
 
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * TestNG Listener for enhanced reporting and logging
  * This class goes in src/test/java
@@ -11,38 +32,76 @@ import org.testng.*;
 @Slf4j
 public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     
-    private long suiteStartTime;
-    private long testStartTime;
+    private static final String TIMING_ATTRIBUTE = "timing.invocation";
+    
+    private long suiteStartNanos;
+    private volatile SuiteTimeline timeline;
+    private volatile StreamingResultWriter resultWriter;
     
     // =============== SUITE LEVEL METHODS ===============
     
     @Override
     public void onStart(ISuite suite) {
-        suiteStartTime = System.currentTimeMillis();
+        suiteStartNanos = System.nanoTime();
         log.info("===============================================");
         log.info("SUITE STARTED: {}", suite.getName());
         log.info("===============================================");
+        ReportUtils.initializeReport();
+        if (StreamingResultWriter.isEnabled()) {
+            resultWriter = new StreamingResultWriter(Paths.get(ReportUtils.getReportsPath(), "results"), suite.getName());
+        }
+        if (SuiteTimeline.isEnabled()) {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+            timeline = new SuiteTimeline(Paths.get(ReportUtils.getReportsPath(), "timeline",
+                suite.getName().replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp + ".jsonl"), suiteStartNanos);
+        }
     }
     
     @Override
     public void onFinish(ISuite suite) {
-        long duration = System.currentTimeMillis() - suiteStartTime;
+        long wallClockNanos = System.nanoTime() - suiteStartNanos;
+        long duration = TimeUnit.NANOSECONDS.toMillis(wallClockNanos);
         log.info("===============================================");
         log.info("SUITE FINISHED: {}", suite.getName());
         log.info("Total Suite Duration: {} ms ({} seconds)", duration, duration / 1000);
         log.info("===============================================");
+        
+        // Waits for queued report events before the report is written
+        ReportUtils.flushReport();
+        ReportUtils.logStatistics();
+        TestTimings.logSummary(suite.getName(), wallClockNanos);
+        TestTimings.reset();
+        if (timeline != null) {
+            analyzeTimeline(suite);
+        }
+        if (resultWriter != null) {
+            resultWriter.close();
+        }
+        AttachmentStore.logStatistics();
+        TestDataPool.logStatistics();
+        ResponseSnapshots.writeIndex();
+        
+        // Make sure exchange logs queued on the background writer reach the log before the JVM exits
+        if (ConfigManager.isLoggingEnabled() && ConfigManager.getBoolean("logging.async.enabled", true)) {
+            AsyncExchangeLogger.flush(10000);
+            AsyncExchangeLogger.logStatistics();
+        }
     }
     
     // =============== TEST LEVEL METHODS ===============
     
     @Override
     public void onTestStart(ITestResult result) {
-        testStartTime = System.currentTimeMillis();
         String testName = getTestName(result);
         log.info("🚀 STARTING TEST: {}", testName);
         log.info("Test Class: {}", result.getTestClass().getName());
         log.info("Test Method: {}", result.getMethod().getMethodName());
         
+        ReportUtils.createTest(testName, result.getTestClass().getName());
+        
+        // Tag this test's exchanges and keep the recent ones in case it fails
+        ExchangeCapture.begin(result.getTestClass().getRealClass().getSimpleName() + "." + testName);
+        
         // Log test parameters if any
         Object[] parameters = result.getParameters();
         if (parameters != null && parameters.length > 0) {
@@ -52,14 +111,17 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        long duration = System.currentTimeMillis() - testStartTime;
+        long duration = getDurationMillis(result);
         String testName = getTestName(result);
         log.info("✅ TEST PASSED: {} (Duration: {} ms)", testName, duration);
+        ExchangeCapture.discard();
+        ReportUtils.endTest(Status.PASS);
+        recordResult(result, StreamingResultWriter.PASSED);
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        long duration = System.currentTimeMillis() - testStartTime;
+        long duration = getDurationMillis(result);
         String testName = getTestName(result);
         Throwable throwable = result.getThrowable();
         
@@ -69,6 +131,9 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
         
         // Add failure information to Allure
         attachFailureInfoToAllure(result);
+        writeCapturedExchanges(testName);
+        ReportUtils.endTest(Status.FAIL);
+        recordResult(result, StreamingResultWriter.FAILED);
     }
     
     @Override
@@ -80,20 +145,32 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
         if (throwable != null) {
             log.warn("Skip Reason: {}", throwable.getMessage());
         }
+        writeCapturedExchanges(testName);
+        ReportUtils.endTest(Status.SKIP);
+        recordResult(result, StreamingResultWriter.SKIPPED);
     }
     
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
         String testName = getTestName(result);
         log.warn("⚠️ TEST FAILED BUT WITHIN SUCCESS PERCENTAGE: {}", testName);
+        ExchangeCapture.discard();
+        ReportUtils.endTest(Status.WARNING);
+        recordResult(result, StreamingResultWriter.PASSED);
     }
     
     // =============== INVOKED METHOD METHODS ===============
     
     @Override
     public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Timing lives on the invocation's own result, so parallel methods never share it
+        if ((TestTimings.isEnabled() || timeline != null) && (method.isTestMethod() || method.isConfigurationMethod())) {
+            testResult.setAttribute(TIMING_ATTRIBUTE, TestTimings.begin());
+        }
         if (method.isTestMethod()) {
             log.debug("Before test method invocation: {}", method.getTestMethod().getMethodName());
+            // Same data for the same test whichever thread runs it, replayable from the run seed
+            DataFaker.reseed(method.getTestMethod().getQualifiedName() + "#" + method.getTestMethod().getCurrentInvocationCount());
         } else if (method.isConfigurationMethod()) {
             log.debug("Before configuration method: {}", method.getTestMethod().getMethodName());
         }
@@ -101,8 +178,16 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
     
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Object timing = testResult.getAttribute(TIMING_ATTRIBUTE);
+        if (timing instanceof TestTimings.Invocation) {
+            TestTimings.Invocation invocation = TestTimings.end((TestTimings.Invocation) timing,
+                testResult.getTestClass().getName(), method.isConfigurationMethod());
+            recordTimeline(method, testResult, invocation);
+        }
         if (method.isTestMethod()) {
             log.debug("After test method invocation: {}", method.getTestMethod().getMethodName());
+            // Configuration overlays are scoped to one test; drop any the test left open
+            ConfigManager.clearOverlays();
         } else if (method.isConfigurationMethod()) {
             log.debug("After configuration method: {}", method.getTestMethod().getMethodName());
             
@@ -116,6 +201,62 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
     
     // =============== HELPER METHODS ===============
     
+    private void recordTimeline(IInvokedMethod method, ITestResult testResult, TestTimings.Invocation invocation) {
+        SuiteTimeline suiteTimeline = timeline;
+        if (suiteTimeline == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        suiteTimeline.record(method.isConfigurationMethod(), testResult.getTestContext().getName(),
+            testMethod.getQualifiedName(), Thread.currentThread().getName(), invocation.getStartNanos(),
+            invocation.getStartNanos() + invocation.getTotalNanos(), statusName(testResult.getStatus()),
+            testMethod.getPriority(), Arrays.asList(testMethod.getGroups()),
+            Arrays.asList(testMethod.getMethodsDependedUpon()), Arrays.asList(testMethod.getGroupsDependedUpon()));
+    }
+    
+    private void analyzeTimeline(ISuite suite) {
+        timeline.close();
+        try {
+            SuiteTimelineAnalyzer analyzer = SuiteTimelineAnalyzer.load(timeline.getFile());
+            if (suite.getXmlSuite().getParallel().isParallel()) {
+                analyzer.threads(suite.getXmlSuite().getThreadCount());
+            }
+            String analysis = analyzer.analyze();
+            log.info("Timeline analysis of suite {} ({}):\n{}", suite.getName(), timeline.getFile(), analysis);
+        } catch (Exception e) {
+            log.warn("Failed to analyze suite timeline {}: {}", timeline.getFile(), e.getMessage());
+        }
+        timeline = null;
+    }
+    
+    private static String statusName(int status) {
+        switch (status) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            case ITestResult.SKIP:
+                return "SKIP";
+            case ITestResult.SUCCESS_PERCENTAGE_FAILURE:
+                return "WARNING";
+            default:
+                return "UNKNOWN";
+        }
+    }
+    
+    /**
+     * Duration of this invocation on the monotonic clock; falls back to TestNG's timestamps
+     */
+    private long getDurationMillis(ITestResult result) {
+        Object timing = result.getAttribute(TIMING_ATTRIBUTE);
+        if (timing instanceof TestTimings.Invocation) {
+            TestTimings.Invocation invocation = (TestTimings.Invocation) timing;
+            long nanos = invocation.getTotalNanos() > 0 ? invocation.getTotalNanos() : invocation.elapsedNanos();
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+        return Math.max(0, result.getEndMillis() - result.getStartMillis());
+    }
+    
     private String getTestName(ITestResult result) {
         String testName = result.getMethod().getMethodName();
         Object[] parameters = result.getParameters();
@@ -127,6 +268,15 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
         return testName;
     }
     
+    private void recordResult(ITestResult result, String status) {
+        StreamingResultWriter writer = resultWriter;
+        if (writer != null) {
+            // TestNG's own timestamps are per invocation, so they stay correct in parallel runs
+            writer.record(result.getTestClass().getName(), getTestName(result), status, result.getStartMillis(),
+                Math.max(0, result.getEndMillis() - result.getStartMillis()), result.getThrowable());
+        }
+    }
+    
     private void attachFailureInfoToAllure(ITestResult result) {
         try {
             // Get Allure lifecycle
@@ -140,7 +290,7 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
                 "Failure Details",
                 "text/plain",
                 ".txt",
-                failureDetails.getBytes()
+                AttachmentStore.attachmentBytes(failureDetails, "txt")
             );
             
         } catch (Exception e) {
@@ -148,6 +298,29 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
         }
     }
     
+    /**
+     * Write the exchanges captured for a failed or skipped test to the log and to Allure
+     */
+    private void writeCapturedExchanges(String testName) {
+        List<ExchangeRecord> records = ExchangeCapture.end();
+        if (records.isEmpty()) {
+            return;
+        }
+        String exchanges = ExchangeCapture.format(records);
+        log.error("Last {} API exchanges of {}:\n{}", records.size(), testName, exchanges);
+        
+        try {
+            io.qameta.allure.Allure.getLifecycle().addAttachment(
+                "API Exchanges",
+                "text/plain",
+                ".txt",
+                AttachmentStore.attachmentBytes(exchanges, "txt")
+            );
+        } catch (Exception e) {
+            log.warn("Failed to attach API exchanges to Allure: {}", e.getMessage());
+        }
+    }
+    
     private String createFailureDetails(ITestResult result) {
         StringBuilder details = new StringBuilder();
         
@@ -155,7 +328,7 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
         details.append("Test Name: ").append(getTestName(result)).append("\n");
         details.append("Test Class: ").append(result.getTestClass().getName()).append("\n");
         details.append("Failure Time: ").append(new java.util.Date()).append("\n");
-        details.append("Duration: ").append(System.currentTimeMillis() - testStartTime).append(" ms\n");
+        details.append("Duration: ").append(getDurationMillis(result)).append(" ms\n");
         
         Throwable throwable = result.getThrowable();
         if (throwable != null) {
@@ -7,8 +7,10 @@ import com.testlead.automation.models.Product;
 import com.testlead.automation.models.User;
 import com.testlead.automation.testdata.ProductTestData;
 import com.testlead.automation.testdata.UserTestData;
+import com.testlead.automation.utils.JsonDiff;
 import com.testlead.automation.utils.JsonUtils;
 import com.testlead.automation.utils.ReportUtils;
+import com.testlead.automation.utils.UniqueKeys;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -25,6 +27,7 @@ public class IntegrationTest extends BaseTest {
     private UserApiClient userApiClient;
     private ProductApiClient productApiClient;
     private User testUser;
+    private User updatedUser;
     private List<Long> createdProductIds;
     private Long testUserId;
     
@@ -68,7 +71,7 @@ public class IntegrationTest extends BaseTest {
             }
             
             // Step 4: Update user information
-            User updatedUser = testUser.toBuilder()
+            updatedUser = testUser.toBuilder()
                 .firstName("Updated " + testUser.getFirstName())
                 .lastName("Updated " + testUser.getLastName())
                 .build();
@@ -275,6 +278,13 @@ public class IntegrationTest extends BaseTest {
                 User retrievedUser = JsonUtils.fromJson(userResponse.getBody().asString(), User.class);
                 Assert.assertNotNull(retrievedUser.getId(), "User ID should be consistent");
                 
+                // Compare the whole user against what was last sent, reporting every mismatch
+                JsonDiff userDiff = JsonDiff.builder()
+                    .ignoreFields("id", "password", "createdAt", "updatedAt", "lastLoginAt")
+                    .ignoreAdditionalFields(true)
+                    .build();
+                verifyResponseMatches(updatedUser, userResponse, userDiff);
+                
                 // Step 2: Verify product data consistency
                 for (Long productId : createdProductIds) {
                     Response productResponse = productApiClient.getProductById(productId);
@@ -386,8 +396,8 @@ public void testConcurrentOperationsIntegration() {
                 try {
                     // Each thread creates a user and product
                     User threadUser = UserTestData.getValidUser();
-                    threadUser.setUsername("concurrentUser" + threadId);
-                    threadUser.setEmail("concurrent" + threadId + "@test.com");
+                    threadUser.setUsername(UniqueKeys.username("concurrentUser" + threadId));
+                    threadUser.setEmail(UniqueKeys.email("concurrent" + threadId, "test.com"));
                     
                     Response userResponse = userApiClient.createUser(threadUser);
                     if (userResponse.getStatusCode() != 201) {
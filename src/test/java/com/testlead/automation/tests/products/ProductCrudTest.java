@@ -1,5 +1,6 @@
 package com.testlead.automation.tests.products;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.testlead.automation.base.BaseTest;
 import com.testlead.automation.clients.ProductApiClient;
 import com.testlead.automation.models.Product;
@@ -9,6 +10,7 @@ import com.testlead.automation.utils.ReportUtils;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.math.BigDecimal;
@@ -165,6 +167,62 @@ public class ProductCrudTest extends BaseTest {
         }
     }
     
+    @DataProvider(name = "invalidProductPayloads")
+    public Object[][] invalidProductPayloads() {
+        return ProductTestData.getInvalidProductPayloads().entrySet().stream()
+            .map(payload -> new Object[]{payload.getKey(), payload.getValue()})
+            .toArray(Object[][]::new);
+    }
+    
+    @Test(priority = 5, dataProvider = "invalidProductPayloads", description = "Create product with invalid payload")
+    public void testCreateProductWithInvalidPayload(String violation, JsonNode payload) {
+        ReportUtils.logInfo("Starting create product with invalid payload test: " + violation);
+        
+        try {
+            Response response = productApiClient.createProduct(payload);
+            
+            // Verify response
+            Assert.assertTrue(response.getStatusCode() >= 400 && response.getStatusCode() < 500,
+                "Invalid payload (" + violation + ") should return a client error, got: " + response.getStatusCode());
+            
+            ReportUtils.logPass("Invalid payload rejected: " + violation);
+            
+        } catch (Exception e) {
+            ReportUtils.logFail("Create product with invalid payload test failed (" + violation + "): " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    @DataProvider(name = "boundaryProductPayloads")
+    public Object[][] boundaryProductPayloads() {
+        return ProductTestData.getBoundaryProductPayloads().entrySet().stream()
+            .map(payload -> new Object[]{payload.getKey(), payload.getValue()})
+            .toArray(Object[][]::new);
+    }
+    
+    @Test(priority = 5, dataProvider = "boundaryProductPayloads", description = "Create product with boundary payload")
+    public void testCreateProductWithBoundaryPayload(String boundary, JsonNode payload) {
+        ReportUtils.logInfo("Starting create product with boundary payload test: " + boundary);
+        
+        try {
+            Response response = productApiClient.createProduct(payload);
+            
+            // Verify response (might be accepted or rejected depending on validation)
+            if (response.getStatusCode() >= 400 && response.getStatusCode() < 500) {
+                ReportUtils.logPass("Boundary payload rejected: " + boundary);
+            } else if (response.getStatusCode() == 201) {
+                ReportUtils.logPass("Boundary payload accepted - consider stricter validation: " + boundary);
+            }
+            
+            Assert.assertTrue(response.getStatusCode() < 500,
+                "Boundary payload (" + boundary + ") should not cause a server error, got: " + response.getStatusCode());
+            
+        } catch (Exception e) {
+            ReportUtils.logFail("Create product with boundary payload test failed (" + boundary + "): " + e.getMessage());
+            throw e;
+        }
+    }
+    
     @Test(priority = 6, description = "Get non-existent product")
     public void testGetNonExistentProduct() {
         ReportUtils.logInfo("Starting get non-existent product test");
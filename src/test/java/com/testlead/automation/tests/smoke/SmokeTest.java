@@ -9,6 +9,7 @@ import com.testlead.automation.testdata.ProductTestData;
 import com.testlead.automation.testdata.UserTestData;
 import com.testlead.automation.utils.JsonUtils;
 import com.testlead.automation.utils.ReportUtils;
+import com.testlead.automation.utils.UniqueKeys;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -55,7 +56,7 @@ public class SmokeTest extends BaseTest {
         
         try {
             User testUser = UserTestData.getValidUser();
-            testUser.setEmail("smoke.test.user@testlead.com");
+            testUser.setEmail(UniqueKeys.email("smoke.test.user"));
             
             Response response = userApiClient.createUser(testUser);
             
@@ -251,7 +252,7 @@ public class SmokeTest extends BaseTest {
         try {
             // Create a test user first
             User testUser = UserTestData.getValidUser();
-            testUser.setEmail("auth.smoke.test@testlead.com");
+            testUser.setEmail(UniqueKeys.email("auth.smoke.test"));
             
             Response createResponse = userApiClient.createUser(testUser);
             
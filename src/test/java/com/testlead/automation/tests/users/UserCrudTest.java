@@ -1,14 +1,17 @@
 package com.testlead.automation.tests.users;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.testlead.automation.base.BaseTest;
 import com.testlead.automation.clients.UserApiClient;
 import com.testlead.automation.models.User;
 import com.testlead.automation.testdata.UserTestData;
 import com.testlead.automation.utils.JsonUtils;
 import com.testlead.automation.utils.ReportUtils;
+import com.testlead.automation.utils.UniqueKeys;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.List;
@@ -36,7 +39,7 @@ public class UserCrudTest extends BaseTest {
         try {
             // Use correct method name from UserTestData
             testUser = UserTestData.getValidUser();
-            testUser.setEmail("crud.test@testlead.com"); // Make email unique
+            testUser.setEmail(UniqueKeys.email("crud.test")); // Make email unique
             
             // Create user using REST Assured Response
             Response response = userApiClient.createUser(testUser);
@@ -166,6 +169,62 @@ public class UserCrudTest extends BaseTest {
         }
     }
     
+    @DataProvider(name = "invalidUserPayloads")
+    public Object[][] invalidUserPayloads() {
+        return UserTestData.getInvalidUserPayloads().entrySet().stream()
+            .map(payload -> new Object[]{payload.getKey(), payload.getValue()})
+            .toArray(Object[][]::new);
+    }
+    
+    @Test(priority = 5, dataProvider = "invalidUserPayloads", description = "Create user with invalid payload")
+    public void testCreateUserWithInvalidPayload(String violation, JsonNode payload) {
+        ReportUtils.logInfo("Starting create user with invalid payload test: " + violation);
+        
+        try {
+            Response response = userApiClient.createUser(payload);
+            
+            // Verify response
+            Assert.assertTrue(response.getStatusCode() >= 400 && response.getStatusCode() < 500,
+                "Invalid payload (" + violation + ") should return a client error, got: " + response.getStatusCode());
+            
+            ReportUtils.logPass("Invalid payload rejected: " + violation);
+            
+        } catch (Exception e) {
+            ReportUtils.logFail("Create user with invalid payload test failed (" + violation + "): " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    @DataProvider(name = "boundaryUserPayloads")
+    public Object[][] boundaryUserPayloads() {
+        return UserTestData.getBoundaryUserPayloads().entrySet().stream()
+            .map(payload -> new Object[]{payload.getKey(), payload.getValue()})
+            .toArray(Object[][]::new);
+    }
+    
+    @Test(priority = 5, dataProvider = "boundaryUserPayloads", description = "Create user with boundary payload")
+    public void testCreateUserWithBoundaryPayload(String boundary, JsonNode payload) {
+        ReportUtils.logInfo("Starting create user with boundary payload test: " + boundary);
+        
+        try {
+            Response response = userApiClient.createUser(payload);
+            
+            // Verify response (might be accepted or rejected depending on validation)
+            if (response.getStatusCode() >= 400 && response.getStatusCode() < 500) {
+                ReportUtils.logPass("Boundary payload rejected: " + boundary);
+            } else if (response.getStatusCode() == 201) {
+                ReportUtils.logPass("Boundary payload accepted - consider stricter validation: " + boundary);
+            }
+            
+            Assert.assertTrue(response.getStatusCode() < 500,
+                "Boundary payload (" + boundary + ") should not cause a server error, got: " + response.getStatusCode());
+            
+        } catch (Exception e) {
+            ReportUtils.logFail("Create user with boundary payload test failed (" + boundary + "): " + e.getMessage());
+            throw e;
+        }
+    }
+    
     @Test(priority = 6, description = "Create user with duplicate email")
     public void testCreateUserWithDuplicateEmail() {
         ReportUtils.logInfo("Starting create user with duplicate email test");
@@ -218,7 +277,7 @@ public class UserCrudTest extends BaseTest {
             // Make emails unique for each user
             for (int i = 0; i < users.size(); i++) {
                 User user = users.get(i);
-                user.setEmail("multiuser" + i + "@testlead.com");
+                user.setEmail(UniqueKeys.email("multiuser" + i));
                 
                 Response response = userApiClient.createUser(user);
                 if (response.getStatusCode() == 201) {
@@ -284,7 +343,7 @@ public class UserCrudTest extends BaseTest {
         
         try {
             User weakPasswordUser = UserTestData.getUserWithWeakPassword();
-            weakPasswordUser.setEmail("weakpass@testlead.com");
+            weakPasswordUser.setEmail(UniqueKeys.email("weakpass"));
             
             Response response = userApiClient.createUser(weakPasswordUser);
             
@@ -0,0 +1,66 @@
+package com.testlead.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Keyed array matching when some elements carry the key and some do not
+ */
+public class JsonDiffTest {
+
+    private final JsonDiff diff = JsonDiff.builder().matchArraysBy("id").build();
+
+    @Test(groups = {"unit"}, description = "Actual element without the key is reported as added")
+    public void testUnkeyedActualElementIsReported() {
+        List<JsonDiff.Difference> differences = diff.compare(
+            "[{\"id\":1}]",
+            "[{\"id\":1},{\"name\":\"x\"}]");
+
+        Assert.assertEquals(differences.size(), 1, JsonDiff.format(differences));
+        Assert.assertEquals(differences.get(0).getType(), JsonDiff.ChangeType.ADDED);
+        Assert.assertEquals(differences.get(0).getPath(), "$[1]");
+    }
+
+    @Test(groups = {"unit"}, description = "Unkeyed elements are matched only against unkeyed elements")
+    public void testUnkeyedElementsMatchEachOther() {
+        List<JsonDiff.Difference> differences = diff.compare(
+            "[{\"id\":1,\"name\":\"a\"},{\"name\":\"x\"}]",
+            "[{\"name\":\"x\"},{\"id\":1,\"name\":\"a\"}]");
+
+        Assert.assertTrue(differences.isEmpty(), JsonDiff.format(differences));
+    }
+
+    @Test(groups = {"unit"}, description = "Changed unkeyed element is reported once, keyed match is untouched")
+    public void testChangedUnkeyedElement() {
+        List<JsonDiff.Difference> differences = diff.compare(
+            "[{\"name\":\"x\"},{\"id\":1,\"name\":\"a\"}]",
+            "[{\"id\":1,\"name\":\"a\"},{\"name\":\"y\"}]");
+
+        Assert.assertEquals(differences.size(), 1, JsonDiff.format(differences));
+        Assert.assertEquals(differences.get(0).getType(), JsonDiff.ChangeType.CHANGED);
+        Assert.assertEquals(differences.get(0).getPath(), "$[0].name");
+    }
+
+    @Test(groups = {"unit"}, description = "Missing unkeyed element is reported as removed")
+    public void testMissingUnkeyedElement() {
+        List<JsonDiff.Difference> differences = diff.compare(
+            "[{\"id\":1},{\"name\":\"x\"}]",
+            "[{\"id\":1}]");
+
+        Assert.assertEquals(differences.size(), 1, JsonDiff.format(differences));
+        Assert.assertEquals(differences.get(0).getType(), JsonDiff.ChangeType.REMOVED);
+        Assert.assertEquals(differences.get(0).getPath(), "$[1]");
+    }
+
+    @Test(groups = {"unit"}, description = "Additional unkeyed elements are ignored when additional fields are")
+    public void testAdditionalUnkeyedElementIgnored() {
+        JsonDiff lenient = JsonDiff.builder().matchArraysBy("id").ignoreAdditionalFields(true).build();
+        List<JsonDiff.Difference> differences = lenient.compare(
+            "[{\"id\":1}]",
+            "[{\"id\":1},{\"name\":\"x\"}]");
+
+        Assert.assertTrue(differences.isEmpty(), JsonDiff.format(differences));
+    }
+}